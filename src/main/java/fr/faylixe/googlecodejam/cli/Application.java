@@ -58,6 +58,18 @@ public final class Application {
 			else if (command.hasOption(ApplicationConstant.SUBMIT)) {
 				status = ApplicationCommand.submit(command);
 			}
+			else if (command.hasOption(ApplicationConstant.BATCH)) {
+				status = ApplicationCommand.batch(command);
+			}
+			else if (command.hasOption(ApplicationConstant.STATUS) || command.hasOption(ApplicationConstant.WATCH)) {
+				status = ApplicationCommand.status(command);
+			}
+			else if (command.hasOption(ApplicationConstant.TIMERS)) {
+				status = ApplicationCommand.timers(command);
+			}
+			else if (command.hasOption(ApplicationConstant.PROFILE)) {
+				status = ApplicationCommand.profile(command);
+			}
 			if (CommandStatus.INVALID_FORMAT.equals(status)) {
 				formatter.printHelp(ApplicationConstant.SYNTAX, options);				
 			}
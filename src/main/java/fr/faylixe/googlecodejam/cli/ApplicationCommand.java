@@ -3,24 +3,33 @@ package fr.faylixe.googlecodejam.cli;
 import io.github.bonigarcia.wdm.FirefoxDriverManager;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import static java.lang.System.out;
 import static java.lang.System.err;
 
 import org.apache.commons.cli.CommandLine;
-import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.SerializationException;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -51,17 +60,47 @@ import static fr.faylixe.googlecodejam.cli.ApplicationConstant.*;
  */
 public final class ApplicationCommand {
 
-	/** Path of the serialized round file to use. **/
-	private static final String ROUND_PATH = ".cjs-round";
+	/** Number of runs on the smallest input used for measuring baseline. **/
+	private static final int BASELINE_RUNS = 3;
 
-	/** Path of the serialized cookie file to use. **/
-	private static final String COOKIE_PATH = ".cjs-cookie";
+	/** Minimum number of sizes required above the baseline one for fitting a growth curve. **/
+	private static final int MINIMUM_SIZES = 2;
 
-	/** Path for input directory. **/
-	private static final String INPUT_DIRECTORY = "input";
+	/** File extension for profiling report. **/
+	private static final String PROFILE_EXTENSION = ".profile";
 
-	/** Path for output directory. **/
-	private static final String OUTPUT_DIRECTORY = "output";
+	/** Shell used for running profiled commands. **/
+	private static final String SHELL = "sh";
+
+	/** Shell option for running a command string. **/
+	private static final String SHELL_OPTION = "-c";
+
+	/** Prefix that makes the shell replace itself with the wrapped command. **/
+	private static final String SHELL_EXEC = "exec ";
+
+	/** Suffix that forwards shell arguments to the wrapped command. **/
+	private static final String SHELL_ARGUMENTS = " \"$@\"";
+
+	/** Prefix of temporary directories holding source archives. **/
+	private static final String BUNDLE_PREFIX = ".cjs-source";
+
+	/** Name of the source archive when the bundled directory has no name. **/
+	private static final String DEFAULT_BUNDLE_NAME = "source";
+
+	/** Maximum number of concurrent uploads for batch submission. **/
+	private static final int BATCH_THREADS = 4;
+
+	/** Separator between batch entry parts. **/
+	private static final String BATCH_SEPARATOR = ":";
+
+	/** Number of parts of a batch entry. **/
+	private static final int BATCH_PARTS = 3;
+
+	/** Format of a row of the batch submission table. **/
+	private static final String BATCH_ROW = "%-10s %-10s %-8s %s";
+
+	/** Status displayed for successful batch submission. **/
+	private static final String BATCH_SUCCESS = "success";
 
 	/** Classname of the DIV that contains our testing dataset. **/
 	private static final String IO_CLASSNAME = "problem-io-wrapper";
@@ -131,34 +170,69 @@ public final class ApplicationCommand {
 		return Optional.empty();
 	}
 
+	/**
+	 * Retrieves the {@link Workspace} to use from the given <tt>command</tt>.
+	 * The workspace is rooted in the current directory, and the round
+	 * context is selected using the optional context parameter.
+	 * 
+	 * @param command Command to retrieve context parameter from.
+	 * @return Workspace to use.
+	 * @throws IllegalArgumentException If the provided context name is not valid.
+	 */
+	private static Workspace getWorkspace(final CommandLine command) {
+		return Workspace.open(Paths.get(""), command.getOptionValue(CONTEXT));
+	}
+
+	/**
+	 * Indicates if the given <tt>round</tt> is the one already selected in the given <tt>workspace</tt>.
+	 * 
+	 * @param workspace Workspace to check selected round of.
+	 * @param round Round to check.
+	 * @return <tt>true</tt> if the given round is already selected, <tt>false</tt> otherwise.
+	 */
+	private static boolean isSameRound(final Workspace workspace, final Round round) {
+		try {
+			final Round previous = workspace.read(workspace.getRoundPath());
+			return previous != null && previous.getURL().equals(round.getURL());
+		}
+		catch (final IOException | SerializationException | ClassCastException e) {
+			return false;
+		}
+	}
+
 	/**
 	 * Creates and saves a contextual session.
 	 * 
 	 * @param cookie Cookie value to use for initialization.
 	 * @param contest Contest id to use. If <tt>null</tt> the contest selection menu will be shown.
+	 * @param workspace Workspace to save contextual session into.
 	 * @return <tt>true</tt> if the init command was correctly executed, <tt>false</tt> otherwise.
 	 * @throws IOException If any error occurs while saving contextual session.
 	 * @throws GeneralSecurityException If any error occurs while creating session.
 	 */
-	private static CommandStatus init(final String cookie, final String contest) throws IOException, GeneralSecurityException {
+	private static CommandStatus init(final String cookie, final String contest, final Workspace workspace) throws IOException, GeneralSecurityException {
 		out.println("[Initialization] Cookie retrieved");
 		final Optional<Round> round = selectRound(contest, cookie);
 		if (round.isPresent()) {
-			out.println("[Initialization] Writing " + COOKIE_PATH);
-			SerializationUtils.serialize(cookie, new FileOutputStream(COOKIE_PATH));
-			out.println("[Initialization] Writing " + ROUND_PATH);
-			SerializationUtils.serialize(round.get(), new FileOutputStream(ROUND_PATH));
+			out.println("[Initialization] Writing " + workspace.getCookiePath());
+			workspace.write(workspace.getCookiePath(), cookie);
+			if (!isSameRound(workspace, round.get())) {
+				out.println("[Initialization] Resetting timers, verdicts and status of previous round");
+				workspace.resetRound();
+			}
+			out.println("[Initialization] Writing " + workspace.getRoundPath());
+			workspace.write(workspace.getRoundPath(), round.get());
 			out.println("[Initialization] Creating input directory");
-			Files.createDirectories(Paths.get(INPUT_DIRECTORY));
+			Files.createDirectories(workspace.getInputDirectory());
 			out.println("[Initialization] Creating output directory");
-			Files.createDirectories(Paths.get(OUTPUT_DIRECTORY));
+			Files.createDirectories(workspace.getOutputDirectory());
 			out.println("[Initialization] Generating sample dataset");
-			final CodeJamSession session = getContextualSession();
+			final CodeJamSession session = getContextualSession(workspace);
 			final List<Problem> problems = session
 					.getContestInfo()
 					.getProblems();
 			for (int i = 0; i < problems.size(); i++) {
-				extractDataset(problems.get(i), i);
+				extractDataset(problems.get(i), i, workspace);
 			}
 			out.println("[Initialization] Initialization done, you can now download and submit in this directory.");
 			return CommandStatus.SUCCESS;
@@ -171,9 +245,10 @@ public final class ApplicationCommand {
 	 * Extracts and creates sample dataset from the given <tt>problem</tt>.
 	 * 
 	 * @param problem Problem to create sample dataset for.
+	 * @param workspace Workspace to create sample dataset into.
 	 * @throws IOException If any error occurs while creating sample dataset.
 	 */
-	private static void extractDataset(final Problem problem, final int id) throws IOException {
+	private static void extractDataset(final Problem problem, final int id, final Workspace workspace) throws IOException {
 		final Document document = (Document) Jsoup.parse(problem.getBody());
 		final Elements problemIO = document.getElementsByClass(IO_CLASSNAME);
 		if (!problemIO.isEmpty()) {
@@ -187,11 +262,11 @@ public final class ApplicationCommand {
 						.append(problemIdentifier)
 						.append(TEST_EXTENSION)
 						.toString();
-					Files.write(
-							Paths.get(INPUT_DIRECTORY).resolve(path),
+					workspace.write(
+							workspace.getInputDirectory().resolve(path),
 							io.first().text().getBytes());
-					Files.write(
-							Paths.get(OUTPUT_DIRECTORY).resolve(path),
+					workspace.write(
+							workspace.getOutputDirectory().resolve(path),
 							io.get(1).text().getBytes());
 				}
 			}
@@ -204,9 +279,10 @@ public final class ApplicationCommand {
 	 * 
 	 * @param driverSupplier Driver supplier to use.
 	 * @param contest Contest identifier to use.
+	 * @param workspace Workspace to save contextual session into.
 	 * @return <tt>true</tt> if the init command was correctly executed, <tt>false</tt> otherwise.
 	 */
-	private static CommandStatus browserInit(final Supplier<WebDriver> driverSupplier, final String contest) {
+	private static CommandStatus browserInit(final Supplier<WebDriver> driverSupplier, final String contest, final Workspace workspace) {
 		out.println("[Initialization] Web browser will open, please authenticate to your Google account with it.");
 		FirefoxDriverManager.getInstance().setup();
 		final SeleniumCookieSupplier supplier = new SeleniumCookieSupplier(Request.getHostname() + "/codejam", FirefoxDriver::new);
@@ -216,7 +292,7 @@ public final class ApplicationCommand {
 				err.println("-> Retrieved cookie instance is null, abort.");
 			}
 			else {
-				return init(cookie, contest);
+				return init(cookie, contest, workspace);
 			}
 		}
 		catch (final IOException | UnreachableBrowserException | GeneralSecurityException e) {
@@ -232,15 +308,16 @@ public final class ApplicationCommand {
 	 * Initializes contextual session by asking user for SACSID cookie value.
 	 * 
 	 * @param contest Contest identifier to use.
+	 * @param workspace Workspace to save contextual session into.
 	 * @return <tt>true</tt> if the init command was correctly executed, <tt>false</tt> otherwise.
 	 */
-	private static CommandStatus textInit(final String contest) {
+	private static CommandStatus textInit(final String contest, final Workspace workspace) {
 		out.println("Please enter the SACSID cookie value to use :");
 		final Scanner scanner = new Scanner(System.in);
 		final String cookie = scanner.next();
 		scanner.close();
 		try {
-			return init(cookie, contest);
+			return init(cookie, contest, workspace);
 		}
 		catch (final IOException | GeneralSecurityException e) {
 			err.println("-> An error occurs while creating CodeJamSession");
@@ -259,35 +336,44 @@ public final class ApplicationCommand {
 	 */
 	public static CommandStatus init(final CommandLine command) {
 		final String contest = command.getOptionValue(CONTEST);
+		final Workspace workspace;
+		try {
+			workspace = getWorkspace(command);
+		}
+		catch (final IllegalArgumentException e) {
+			err.println("-> " + e.getMessage());
+			return CommandStatus.INVALID_FORMAT;
+		}
 		if (command.hasOption(INIT_METHOD)) {
 			final String method = command.getOptionValue(INIT_METHOD).toLowerCase();
 			if (FIREFOX_METHOD.equals(method)) {
-				return browserInit(FirefoxDriver::new, contest);
+				return browserInit(FirefoxDriver::new, contest, workspace);
 			}
 			else if (TEXT_METHOD.equals(method)) {
-				return textInit(contest);
+				return textInit(contest, workspace);
 			}
 			err.println("-> Invalid method provided (only firefox or text supported");
 			return CommandStatus.INVALID_FORMAT;
 		}
-		return browserInit(FirefoxDriver::new, contest);
+		return browserInit(FirefoxDriver::new, contest, workspace);
 	}
 
 	/**
 	 * If exists, deserializes the cookie and round file
 	 * in order to create and returns a valid {@link CodeJamSession}.
 	 * 
+	 * @param workspace Workspace to load contextual session from.
 	 * @return Contextual session loaded if exist.
 	 * @throws IOException If the session could not be loaded.
 	 * @throws GeneralSecurityException 
 	 */
-	private static CodeJamSession getContextualSession() throws IOException, GeneralSecurityException {
-		final String cookie = (String) SerializationUtils.deserialize(new FileInputStream(COOKIE_PATH));
+	private static CodeJamSession getContextualSession(final Workspace workspace) throws IOException, GeneralSecurityException {
+		final String cookie = workspace.read(workspace.getCookiePath());
 		if (cookie == null) {
 			throw new IOException("Invalid cookie file, please initialize directory again.");
 		}
 		final HttpRequestExecutor executor = HttpRequestExecutor.create(Request.getHostname(), cookie);
-		final Round round = (Round) SerializationUtils.deserialize(new FileInputStream(ROUND_PATH));
+		final Round round = workspace.read(workspace.getRoundPath());
 		if (round == null) {
 			throw new IOException("Contextual session is broken, please initialize directory again.");
 		}
@@ -307,8 +393,19 @@ public final class ApplicationCommand {
 			err.println("-> Download command requires problem and input type parameters.");
 			return null;
 		}
-		final String problemArgument = command.getOptionValue(PROBLEM);
-		final String inputArgument = command.getOptionValue(INPUT_TYPE);
+		return getProblemInput(command.getOptionValue(PROBLEM), command.getOptionValue(INPUT_TYPE), session);
+	}
+
+	/**
+	 * Retrieves and returns the problem input identified by the given
+	 * <tt>problemArgument</tt> and <tt>inputArgument</tt> using the given <tt>session</tt>.
+	 * 
+	 * @param problemArgument Problem to retrieve input for.
+	 * @param inputArgument Input type to retrieve.
+	 * @param session Session to retrieve input from.
+	 * @return Retrieved {@link ProblemInput} instance if exists, <tt>null</tt> otherwise.
+	 */
+	private static ProblemInput getProblemInput(final String problemArgument, final String inputArgument, final CodeJamSession session) {
 		final Problem problem = session.getProblem(problemArgument);
 		if (problem == null) {
 			err.println("-> Problem " + problemArgument + " not found.");
@@ -322,6 +419,35 @@ public final class ApplicationCommand {
 		return input;
 	}
 
+	/**
+	 * Retrieves the key identifying the given problem in the attempt index,
+	 * as the problem letter from its position in the contest, so the same
+	 * problem matches whether it is given by letter, index or name.
+	 * 
+	 * @param problemArgument Problem to retrieve key for.
+	 * @param session Session to resolve problem with.
+	 * @return Problem letter, or the given argument if the problem could not be resolved.
+	 */
+	private static String getProblemKey(final String problemArgument, final CodeJamSession session) {
+		final int index = session
+				.getContestInfo()
+				.getProblems()
+				.indexOf(session.getProblem(problemArgument));
+		return index < 0 ? problemArgument : String.valueOf((char)('A' + index));
+	}
+
+	/**
+	 * Retrieves the key identifying the given problem <tt>input</tt> in the
+	 * attempt index, as its lower cased name, so the same input matches whether
+	 * it is given by name or index. Spaces are replaced so the key is a single word.
+	 * 
+	 * @param input Problem input to retrieve key for.
+	 * @return Input key.
+	 */
+	private static String getInputKey(final ProblemInput input) {
+		return input.getName().trim().toLowerCase(Locale.ENGLISH).replaceAll("\\s+", "-");
+	}
+
 	/**
 	 * Downloads an input file, from the given user <tt>command</tt>.
 	 * Retrieves the contextual session if exist, and if so, then
@@ -333,20 +459,27 @@ public final class ApplicationCommand {
 	 */
 	public static CommandStatus download(final CommandLine command) {
 		try {
-			final CodeJamSession session = getContextualSession();
+			final Workspace workspace = getWorkspace(command);
+			final CodeJamSession session = getContextualSession(workspace);
 			final ProblemInput input = getProblemInput(command, session);
 			if (input == null) {
 				return CommandStatus.INVALID_FORMAT;
 			}
 			final String rawAttempt = command.getOptionValue(DOWNLOAD_ATTEMPT);
 			final int attempt = (rawAttempt == null ? 0 : Integer.valueOf(rawAttempt));
+			final long start = System.currentTimeMillis();
 			final InputStream stream = session.download(input, attempt);
-			final Path target = Paths.get(session.buildFilename(input, attempt));
-			Files.deleteIfExists(target);
-			Files.copy(stream, target);
+			recordTimer(
+					workspace,
+					getProblemKey(command.getOptionValue(PROBLEM), session),
+					getInputKey(input),
+					attempt,
+					start);
+			final Path target = workspace.getDirectory().resolve(session.buildFilename(input, attempt));
+			workspace.copy(stream, target);
 			out.println(target.toString());
 		}
-		catch (final IOException | GeneralSecurityException e) {
+		catch (final IOException | GeneralSecurityException | IllegalArgumentException e) {
 			err.println("-> An error occurs while downloading input file : " + e.getMessage());
 			if (Application.isVerbose()) {
 				e.printStackTrace();
@@ -355,10 +488,74 @@ public final class ApplicationCommand {
 		return CommandStatus.FAILED;
 	}
 
+	/**
+	 * Records the submission timer started by a download in the
+	 * attempt index of the given <tt>workspace</tt>. Failing to record
+	 * the timer only emits a warning, since the download has been done.
+	 * 
+	 * @param workspace Workspace to record timer into.
+	 * @param problem Key of the downloaded problem.
+	 * @param inputType Key of the downloaded input.
+	 * @param attempt Downloaded attempt number.
+	 * @param start Download time in milliseconds since epoch.
+	 */
+	private static void recordTimer(final Workspace workspace, final String problem, final String inputType, final int attempt, final long start) {
+		final long deadline = start + TimeUnit.MINUTES.toMillis(getTimer(inputType));
+		try {
+			new AttemptIndex(workspace).record(new AttemptTimer(problem, inputType, attempt, start, deadline));
+		}
+		catch (final IOException e) {
+			err.println("-> Unable to record download timer : " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Retrieves the expired timer of the given problem input, if any.
+	 * 
+	 * @param index Attempt index to look timer up in.
+	 * @param problem Key of the problem to retrieve timer for.
+	 * @param inputType Key of the input to retrieve timer for.
+	 * @return Expired timer, or an empty optional if not downloaded through this workspace or still running.
+	 * @throws IOException If any error occurs while reading attempt index.
+	 */
+	private static Optional<AttemptTimer> getExpiredTimer(final AttemptIndex index, final String problem, final String inputType) throws IOException {
+		final long now = System.currentTimeMillis();
+		return index
+				.get(problem, inputType)
+				.filter(timer -> timer.isExpired(now));
+	}
+
+	/**
+	 * Records the verdict of a submission in the verdict index of the
+	 * given <tt>workspace</tt>, so it is reported by the status action.
+	 * Failing to record the verdict only emits a warning, since the
+	 * submission has been done.
+	 * 
+	 * @param workspace Workspace to record verdict into.
+	 * @param problem Key of the submitted problem.
+	 * @param inputType Key of the submitted input.
+	 * @param response Response of the submission.
+	 */
+	private static void recordVerdict(final Workspace workspace, final String problem, final String inputType, final SubmitResponse response) {
+		try {
+			new VerdictIndex(workspace).record(new Verdict(
+					problem,
+					inputType,
+					System.currentTimeMillis(),
+					response.isSuccess(),
+					response.getMessage()));
+		}
+		catch (final IOException e) {
+			err.println("-> Unable to record submission verdict : " + e.getMessage());
+		}
+	}
+
 	/**
 	 * Performs an output file submission using the <tt>SubmitAnswer</tt>
 	 * command. Retrieves the contextual session if exist, and if so, then
-	 * the submit method is used on the loaded session.
+	 * the submit method is used on the loaded session. Submission is
+	 * refused if the download timer of the target input is expired, unless
+	 * the force parameter is provided.
 	 * 
 	 * @param command User command line.
 	 * @return <tt>true</tt> if the command was executed successfully, <tt>false</tt> otherwise.
@@ -369,23 +566,537 @@ public final class ApplicationCommand {
 			return CommandStatus.INVALID_FORMAT;
 		}
 		final String output = command.getOptionValue(OUTPUT);
-		final String source = command.getOptionValue(SOURCE);
+		final Path source = Paths.get(command.getOptionValue(SOURCE));
+		Path bundle = null;
 		try {
-			final CodeJamSession session = getContextualSession();
+			final Workspace workspace = getWorkspace(command);
+			final CodeJamSession session = getContextualSession(workspace);
 			final ProblemInput input = getProblemInput(command, session);
-			final SubmitResponse response = session.submit(input, new File(output), new File(source));
+			if (input == null) {
+				return CommandStatus.INVALID_FORMAT;
+			}
+			final String problem = getProblemKey(command.getOptionValue(PROBLEM), session);
+			final Optional<AttemptTimer> expired = getExpiredTimer(new AttemptIndex(workspace), problem, getInputKey(input));
+			if (expired.isPresent()) {
+				if (!command.hasOption(FORCE)) {
+					err.println("-> Timer of " + expired.get().describe(System.currentTimeMillis()) + ", use --force to submit anyway.");
+					return CommandStatus.FAILED;
+				}
+				err.println("-> Warning : timer of " + expired.get().describe(System.currentTimeMillis()) + ", submitting anyway.");
+			}
+			if (Files.isDirectory(source)) {
+				bundle = bundleSource(source, workspace);
+			}
+			final File sourceFile = (bundle == null ? source : bundle).toFile();
+			final SubmitResponse response = session.submit(input, new File(output), sourceFile);
+			recordVerdict(workspace, problem, getInputKey(input), response);
 			if (response.isSuccess()) {
 				out.println("Submission correct !");
 				return CommandStatus.SUCCESS;
 			}
 			out.println("Submission failed : " + response.getMessage());
 		}
-		catch (final IOException | GeneralSecurityException e) {
+		catch (final IOException | GeneralSecurityException | IllegalArgumentException e) {
 			err.println("An error occurs while submitting output file : " + e.getMessage());
 			if (Application.isVerbose()) {
 				e.printStackTrace();
 			}
 		}
+		finally {
+			deleteBundle(bundle);
+		}
+		return CommandStatus.FAILED;
+	}
+
+	/**
+	 * Bundles the given source <tt>directory</tt> into an archive named
+	 * after it, such as <tt>src.zip</tt>, since the archive name is the one
+	 * uploaded. The archive is created into a temporary directory of the
+	 * given <tt>workspace</tt>. Directories managed by the workspace are
+	 * skipped, so bundling the workspace root only bundles sources.
+	 * 
+	 * @param directory Source directory to bundle.
+	 * @param workspace Workspace to create archive into.
+	 * @return Path of the created archive.
+	 * @throws IOException If any error occurs while creating archive.
+	 */
+	private static Path bundleSource(final Path directory, final Workspace workspace) throws IOException {
+		Files.createDirectories(workspace.getDirectory());
+		final Path name = directory.toAbsolutePath().normalize().getFileName();
+		final Path target = Files
+				.createTempDirectory(workspace.getDirectory(), BUNDLE_PREFIX)
+				.resolve((name == null ? DEFAULT_BUNDLE_NAME : name.toString()) + SourceBundle.EXTENSION);
+		try {
+			return SourceBundle.bundle(directory, target, workspace.getManagedDirectories());
+		}
+		catch (final IOException e) {
+			deleteBundle(target);
+			throw e;
+		}
+	}
+
+	/**
+	 * Deletes the given source archive if any, along with
+	 * the temporary directory it has been created into.
+	 * 
+	 * @param bundle Archive to delete, could be <tt>null</tt>.
+	 */
+	private static void deleteBundle(final Path bundle) {
+		if (bundle != null) {
+			try {
+				Files.deleteIfExists(bundle);
+				Files.deleteIfExists(bundle.getParent());
+			}
+			catch (final IOException e) {
+				err.println("-> Unable to delete source archive " + bundle);
+			}
+		}
+	}
+
+	/**
+	 * Submits a single batch entry, and returns the cells
+	 * of the corresponding row of the consolidated table.
+	 * 
+	 * @param entry Batch entry, with the <tt>problem:inputtype:output</tt> format.
+	 * @param source Source file to upload along with the output.
+	 * @param session Session to submit through.
+	 * @param workspace Workspace to check timer expiration with and record verdict into.
+	 * @param force <tt>true</tt> if entry should be submitted even if its timer is expired, <tt>false</tt> otherwise.
+	 * @return Table row cells, as problem, input, status and message.
+	 */
+	private static String [] submitEntry(final String entry, final File source, final CodeJamSession session, final Workspace workspace, final boolean force) {
+		final String [] parts = entry.split(BATCH_SEPARATOR, BATCH_PARTS);
+		if (parts.length != BATCH_PARTS) {
+			return new String [] {entry, "", "invalid", "Expected problem:inputtype:output"};
+		}
+		final ProblemInput input = getProblemInput(parts[0], parts[1], session);
+		if (input == null) {
+			return new String [] {parts[0], parts[1], "invalid", "Problem or input not found"};
+		}
+		try {
+			final String problem = getProblemKey(parts[0], session);
+			if (!force && getExpiredTimer(new AttemptIndex(workspace), problem, getInputKey(input)).isPresent()) {
+				return new String [] {parts[0], parts[1], "expired", "Timer expired, use --force to submit anyway"};
+			}
+			final SubmitResponse response = session.submit(input, new File(parts[2]), source);
+			recordVerdict(workspace, problem, getInputKey(input), response);
+			final String status = response.isSuccess() ? BATCH_SUCCESS : "failed";
+			return new String [] {parts[0], parts[1], status, response.getMessage()};
+		}
+		catch (final IOException e) {
+			if (Application.isVerbose()) {
+				e.printStackTrace();
+			}
+			return new String [] {parts[0], parts[1], "error", e.getMessage()};
+		}
+	}
+
+	/**
+	 * Submits several output files concurrently through a single
+	 * contextual session. Each entry is given as <tt>problem:inputtype:output</tt>,
+	 * either through repeated entry parameters or as a comma separated list.
+	 * If the source parameter is a directory, it is bundled once into a zip archive
+	 * which is uploaded along with every output. Responses are printed as a consolidated table.
+	 * 
+	 * @param command User command line.
+	 * @return <tt>true</tt> if every submission was successful, <tt>false</tt> otherwise.
+	 */
+	public static CommandStatus batch(final CommandLine command) {
+		if (!command.hasOption(ENTRY) || !command.hasOption(SOURCE)) {
+			err.println("-> Batch command requires entry and source file parameters.");
+			return CommandStatus.INVALID_FORMAT;
+		}
+		final List<String> entries = new ArrayList<>();
+		for (final String value : command.getOptionValues(ENTRY)) {
+			for (final String entry : value.split(",")) {
+				if (!entry.trim().isEmpty()) {
+					entries.add(entry.trim());
+				}
+			}
+		}
+		if (entries.isEmpty()) {
+			err.println("-> Batch command requires at least one non empty entry.");
+			return CommandStatus.INVALID_FORMAT;
+		}
+		final Path source = Paths.get(command.getOptionValue(SOURCE));
+		Path bundle = null;
+		ExecutorService executor = null;
+		try {
+			final Workspace workspace = getWorkspace(command);
+			final CodeJamSession session = getContextualSession(workspace);
+			final boolean force = command.hasOption(FORCE);
+			if (Files.isDirectory(source)) {
+				bundle = bundleSource(source, workspace);
+				out.println("[Batch] Source directory bundled into " + bundle.getFileName());
+			}
+			final File sourceFile = (bundle == null ? source : bundle).toFile();
+			executor = Executors.newFixedThreadPool(Math.max(1, Math.min(entries.size(), BATCH_THREADS)));
+			final List<Future<String []>> rows = new ArrayList<>();
+			for (final String entry : entries) {
+				rows.add(executor.submit(() -> submitEntry(entry, sourceFile, session, workspace, force)));
+			}
+			boolean success = true;
+			out.println(String.format(BATCH_ROW, "Problem", "Input", "Status", "Message"));
+			for (final Future<String []> row : rows) {
+				final String [] cells = row.get();
+				success &= BATCH_SUCCESS.equals(cells[2]);
+				out.println(String.format(BATCH_ROW, (Object []) cells));
+			}
+			return success ? CommandStatus.SUCCESS : CommandStatus.FAILED;
+		}
+		catch (final IOException | GeneralSecurityException | IllegalArgumentException | ExecutionException e) {
+			err.println("-> An error occurs while submitting output files : " + e.getMessage());
+			if (Application.isVerbose()) {
+				e.printStackTrace();
+			}
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			err.println("-> Batch submission interrupted.");
+		}
+		finally {
+			if (executor != null) {
+				executor.shutdown();
+			}
+			deleteBundle(bundle);
+		}
+		return CommandStatus.FAILED;
+	}
+
+	/**
+	 * Schedules alerts for the given <tt>timers</tt>, when their remaining
+	 * time reaches each of the given <tt>thresholds</tt>, and when they
+	 * expire. Returns once every timer is expired.
+	 * 
+	 * @param timers Timers to schedule alerts for.
+	 * @param thresholds Remaining time in seconds at which alerts are emitted.
+	 * @throws InterruptedException If interrupted while waiting for timers.
+	 */
+	private static void scheduleAlerts(final List<AttemptTimer> timers, final List<Long> thresholds) throws InterruptedException {
+		final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		final long now = System.currentTimeMillis();
+		for (final AttemptTimer timer : timers) {
+			for (final long threshold : thresholds) {
+				final long alert = timer.getDeadline() - TimeUnit.SECONDS.toMillis(threshold);
+				if (alert > now) {
+					scheduler.schedule(
+							() -> out.println("[Timer] " + timer.describe(alert)),
+							alert - now,
+							TimeUnit.MILLISECONDS);
+				}
+			}
+			scheduler.schedule(
+					() -> out.println("[Timer] " + timer.describe(timer.getDeadline())),
+					timer.getRemaining(now),
+					TimeUnit.MILLISECONDS);
+		}
+		scheduler.shutdown();
+		scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Displays the remaining time of every open download attempt, as recorded
+	 * in the workspace attempt index. If alert thresholds are provided, then
+	 * it keeps running and alerts when thresholds are reached, until every
+	 * timer is expired.
+	 * 
+	 * @param command User command line.
+	 * @return <tt>true</tt> if the command was executed successfully, <tt>false</tt> otherwise.
+	 */
+	public static CommandStatus timers(final CommandLine command) {
+		final List<Long> thresholds = new ArrayList<>();
+		try {
+			if (command.hasOption(ALERT)) {
+				for (final String threshold : command.getOptionValue(ALERT).split(",")) {
+					thresholds.add(Long.valueOf(threshold.trim()));
+				}
+			}
+		}
+		catch (final NumberFormatException e) {
+			err.println("-> Alert thresholds must be integers.");
+			return CommandStatus.INVALID_FORMAT;
+		}
+		try {
+			final long now = System.currentTimeMillis();
+			final List<AttemptTimer> open = new ArrayList<>();
+			for (final AttemptTimer timer : new AttemptIndex(getWorkspace(command)).getAll()) {
+				if (!timer.isExpired(now)) {
+					open.add(timer);
+					out.println(timer.describe(now));
+				}
+			}
+			if (!thresholds.isEmpty()) {
+				scheduleAlerts(open, thresholds);
+			}
+			return CommandStatus.SUCCESS;
+		}
+		catch (final IOException | IllegalArgumentException e) {
+			err.println("-> An error occurs while reading download timers : " + e.getMessage());
+			if (Application.isVerbose()) {
+				e.printStackTrace();
+			}
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			err.println("-> Timers interrupted.");
+		}
+		return CommandStatus.FAILED;
+	}
+
+	/**
+	 * Polls status once using the given <tt>poller</tt>,
+	 * and prints the reported changes.
+	 * 
+	 * @param poller Poller to use.
+	 * @throws IOException If any error occurs while polling.
+	 */
+	private static void pollStatus(final StatusPoller poller) throws IOException {
+		final List<String> changes = poller.poll();
+		final String time = LocalTime.now().truncatedTo(ChronoUnit.SECONDS).toString();
+		for (final String change : changes) {
+			out.println("[" + time + "] " + change);
+		}
+	}
+
+	/**
+	 * Prints new submission verdicts and expired submission timers since the
+	 * last status snapshot saved in the workspace. Verdicts are the ones
+	 * returned by the contextual session to submissions, so no additional
+	 * request is performed. In watch mode, the same poller is reused to poll
+	 * the workspace periodically until interrupted, reading indexes again
+	 * only once modified, and a failed poll is reported without stopping the watch.
+	 * 
+	 * @param command User command line.
+	 * @return <tt>true</tt> if the command was executed successfully, <tt>false</tt> otherwise.
+	 */
+	public static CommandStatus status(final CommandLine command) {
+		final long interval;
+		try {
+			interval = Long.valueOf(command.getOptionValue(INTERVAL, DEFAULT_INTERVAL));
+		}
+		catch (final NumberFormatException e) {
+			err.println("-> Interval parameter must be an integer.");
+			return CommandStatus.INVALID_FORMAT;
+		}
+		if (interval <= 0) {
+			err.println("-> Interval parameter must be positive.");
+			return CommandStatus.INVALID_FORMAT;
+		}
+		final Workspace workspace;
+		try {
+			workspace = getWorkspace(command);
+		}
+		catch (final IllegalArgumentException e) {
+			err.println("-> " + e.getMessage());
+			return CommandStatus.INVALID_FORMAT;
+		}
+		if (!Files.exists(workspace.getRoundPath())) {
+			err.println("-> No round selected in this context, please initialize directory first.");
+			return CommandStatus.FAILED;
+		}
+		final StatusPoller poller = new StatusPoller(workspace);
+		if (!command.hasOption(WATCH)) {
+			try {
+				pollStatus(poller);
+				return CommandStatus.SUCCESS;
+			}
+			catch (final IOException e) {
+				err.println("-> An error occurs while polling status : " + e.getMessage());
+				if (Application.isVerbose()) {
+					e.printStackTrace();
+				}
+			}
+			return CommandStatus.FAILED;
+		}
+		try {
+			while (true) {
+				try {
+					pollStatus(poller);
+				}
+				catch (final IOException e) {
+					err.println("-> An error occurs while polling status, retrying : " + e.getMessage());
+					if (Application.isVerbose()) {
+						e.printStackTrace();
+					}
+				}
+				Thread.sleep(TimeUnit.SECONDS.toMillis(interval));
+			}
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			err.println("-> Status polling interrupted.");
+		}
+		return CommandStatus.SUCCESS;
+	}
+
+	/**
+	 * Retrieves the submission timer duration started by the download
+	 * of the input identified by the given <tt>inputKey</tt>. Inputs that
+	 * are neither small nor large are given the shortest timer with a
+	 * warning, so an expired submission is never silently accepted.
+	 * 
+	 * @param inputKey Key of the input to retrieve timer for.
+	 * @return Timer duration in minutes.
+	 */
+	private static int getTimer(final String inputKey) {
+		if (inputKey.startsWith(LARGE_INPUT)) {
+			return LARGE_TIMER;
+		}
+		if (!inputKey.startsWith(SMALL_INPUT)) {
+			err.println("-> Warning : unknown input type " + inputKey + ", assuming the " + SMALL_TIMER + " minutes timer of small inputs.");
+		}
+		return SMALL_TIMER;
+	}
+
+	/**
+	 * Wraps the given raw command line so it is interpreted by <tt>sh</tt>,
+	 * which handles quoted arguments and paths containing spaces. The shell
+	 * replaces itself with the command, so the profiled process is the command
+	 * itself. Any argument appended to the returned command is forwarded to it.
+	 * 
+	 * @param command Raw command to wrap.
+	 * @return List of command arguments.
+	 */
+	private static List<String> shellCommand(final String command) {
+		return Arrays.asList(SHELL, SHELL_OPTION, SHELL_EXEC + command + SHELL_ARGUMENTS, SHELL);
+	}
+
+	/**
+	 * Profiles a solver over synthetic inputs of increasing size, fits
+	 * a growth curve over measured wall time, and projects it for the declared
+	 * input bound. The smallest size is run several times for measuring the fixed
+	 * cost of a run, which is subtracted before fitting, and samples within noise
+	 * of it are ignored. Measures and projection are saved in the profile directory.
+	 * Execution fails if the projection exceeds the timer that the download of
+	 * the target input would start, so it could be used as a guard before downloading.
+	 * 
+	 * @param command User command line.
+	 * @return <tt>true</tt> if the projected time fits into the submission timer, <tt>false</tt> otherwise.
+	 */
+	public static CommandStatus profile(final CommandLine command) {
+		if (!command.hasOption(PROBLEM)
+				|| !command.hasOption(INPUT_TYPE)
+				|| !command.hasOption(SOLVER)
+				|| !command.hasOption(GENERATOR)
+				|| !command.hasOption(BOUND)) {
+			err.println("-> Profile command requires problem, input type, solver, generator and bound parameters.");
+			return CommandStatus.INVALID_FORMAT;
+		}
+		final String inputType = command.getOptionValue(INPUT_TYPE);
+		final List<Long> sizes = new ArrayList<>();
+		final long bound;
+		try {
+			for (final String size : command.getOptionValue(SIZES, DEFAULT_SIZES).split(",")) {
+				sizes.add(Long.valueOf(size.trim()));
+			}
+			bound = Long.valueOf(command.getOptionValue(BOUND));
+		}
+		catch (final NumberFormatException e) {
+			err.println("-> Sizes and bound parameters must be integers.");
+			return CommandStatus.INVALID_FORMAT;
+		}
+		if (bound <= 0) {
+			err.println("-> Bound parameter must be positive.");
+			return CommandStatus.INVALID_FORMAT;
+		}
+		if (sizes.size() <= MINIMUM_SIZES) {
+			err.println("-> At least " + (MINIMUM_SIZES + 1) + " sizes are required, the smallest one being used as baseline.");
+			return CommandStatus.INVALID_FORMAT;
+		}
+		final Workspace workspace;
+		try {
+			workspace = getWorkspace(command);
+		}
+		catch (final IllegalArgumentException e) {
+			err.println("-> " + e.getMessage());
+			return CommandStatus.INVALID_FORMAT;
+		}
+		String problemKey = command.getOptionValue(PROBLEM);
+		String inputKey = inputType.toLowerCase(Locale.ENGLISH);
+		try {
+			final CodeJamSession session = getContextualSession(workspace);
+			final ProblemInput input = getProblemInput(command, session);
+			if (input == null) {
+				return CommandStatus.INVALID_FORMAT;
+			}
+			problemKey = getProblemKey(problemKey, session);
+			inputKey = getInputKey(input);
+		}
+		catch (final IOException | GeneralSecurityException | IllegalArgumentException e) {
+			err.println("-> Warning : no contextual session available (" + e.getMessage() + "), results are named after the problem parameter.");
+			if (Application.isVerbose()) {
+				e.printStackTrace();
+			}
+		}
+		final String name = problemKey + "-" + inputKey;
+		final Path directory = workspace.getProfileDirectory();
+		final SolverProfiler profiler = new SolverProfiler(
+				shellCommand(command.getOptionValue(SOLVER)),
+				shellCommand(command.getOptionValue(GENERATOR)),
+				directory.resolve(name));
+		sizes.sort(null);
+		final int timer = getTimer(inputKey);
+		final List<ProfileSample> baselineRuns = new ArrayList<>();
+		final List<ProfileSample> samples = new ArrayList<>();
+		final StringBuilder report = new StringBuilder("size\twall(ms)\tcpu(ms)\tmemory(kB)\n");
+		final Path target = directory.resolve(name + PROFILE_EXTENSION);
+		out.println("[Profile] size\twall(ms)\tcpu(ms)\tmemory(kB)");
+		try {
+			for (int i = 0; i < BASELINE_RUNS; i++) {
+				final ProfileSample sample = profiler.run(sizes.get(0));
+				baselineRuns.add(sample);
+				out.println("[Profile] " + sample);
+				report.append(sample).append('\n');
+			}
+			for (final long size : sizes.subList(1, sizes.size())) {
+				final ProfileSample sample = profiler.run(size);
+				samples.add(sample);
+				out.println("[Profile] " + sample);
+				report.append(sample).append('\n');
+				if (sample.getWallTime() > TimeUnit.MINUTES.toMillis(timer)) {
+					workspace.write(target, report.toString().getBytes());
+					err.println("-> Warning : size " + size + " already exceeds the " + timer + " minutes submission timer of " + inputKey + " input.");
+					return CommandStatus.FAILED;
+				}
+			}
+			final long baseline = GrowthCurve.getBaseline(baselineRuns);
+			final long noise = GrowthCurve.getNoise(baselineRuns);
+			final String fixedCost = String.format("Baseline : %d ms, noise : %d ms", baseline, noise);
+			out.println("[Profile] " + fixedCost);
+			report.append(fixedCost).append('\n');
+			final Optional<GrowthCurve> curve = GrowthCurve.fit(baselineRuns, samples);
+			if (!curve.isPresent()) {
+				workspace.write(target, report.toString().getBytes());
+				err.println("-> At least two sizes clearly above baseline are required to fit a growth curve, please use larger sizes.");
+				return CommandStatus.FAILED;
+			}
+			final double projected = curve.get().project(bound);
+			final String projection = String.format(
+					"Projected time for size %d : %.1f s (%s), timer : %d min",
+					bound,
+					projected / TimeUnit.SECONDS.toMillis(1),
+					curve.get(),
+					timer);
+			report.append(projection).append('\n');
+			workspace.write(target, report.toString().getBytes());
+			out.println("[Profile] " + projection);
+			out.println("[Profile] Results saved to " + target);
+			if (projected > TimeUnit.MINUTES.toMillis(timer)) {
+				err.println("-> Warning : projected time exceeds the " + timer + " minutes submission timer of " + inputKey + " input.");
+				return CommandStatus.FAILED;
+			}
+			return CommandStatus.SUCCESS;
+		}
+		catch (final IOException e) {
+			err.println("-> An error occurs while profiling solver : " + e.getMessage());
+			if (Application.isVerbose()) {
+				e.printStackTrace();
+			}
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			err.println("-> Profiling interrupted.");
+		}
 		return CommandStatus.FAILED;
 	}
 
@@ -22,6 +22,15 @@ public final class ApplicationConstant {
 	/** Description for the contest parameter. **/
 	public static final String CONTEST_DESCRIPTION = "Id of the target contest to work with.";
 
+	/** Short option for the context parameter. **/
+	public static final String CONTEXT = "n";
+
+	/** Long option for the context parameter. **/
+	public static final String CONTEXT_LONG = "context";
+
+	/** Description for the context parameter. **/
+	public static final String CONTEXT_DESCRIPTION = "Name of the round context to work with, the default context is used if not specified.";
+
 	/** Short option for the initialization action. **/
 	public static final String INIT = "i";
 
@@ -73,6 +82,24 @@ public final class ApplicationConstant {
 	/** Description of the submission action. **/
 	public static final String SUBMIT_DESCRIPTION = "Submits an output file as solution source as well for a given problem and target dataset.";
 
+	/** Short option for the batch submit action. **/
+	public static final String BATCH = "u";
+
+	/** Long option for the batch submit action. **/
+	public static final String BATCH_LONG = "batch";
+
+	/** Description of the batch submit action. **/
+	public static final String BATCH_DESCRIPTION = "Submits several output files concurrently, along with a source file or directory.";
+
+	/** Short option for the batch entry parameter. **/
+	public static final String ENTRY = "e";
+
+	/** Long option for the batch entry parameter. **/
+	public static final String ENTRY_LONG = "entry";
+
+	/** Description of the batch entry parameter. **/
+	public static final String ENTRY_DESCRIPTION = "Batch entry to submit as problem:inputtype:output, could be repeated or comma separated.";
+
 	/** Short option for the problem parameter. **/
 	public static final String PROBLEM = "p";
 
@@ -107,7 +134,124 @@ public final class ApplicationConstant {
 	public static final String SOURCE_LONG = "sourcefile";
 
 	/** Description of the source parameter. **/
-	public static final String SOURCE_DESCRIPTION = "This parameter specifies the source file to upload.";
+	public static final String SOURCE_DESCRIPTION = "This parameter specifies the source file to upload, a directory will be bundled into a zip archive.";
+
+	/** Short option for the status action. **/
+	public static final String STATUS = "q";
+
+	/** Long option for the status action. **/
+	public static final String STATUS_LONG = "status";
+
+	/** Description of the status action. **/
+	public static final String STATUS_DESCRIPTION = "Prints new submission verdicts and expired submission timers since the last status.";
+
+	/** Short option for the watch scoreboard action. **/
+	public static final String WATCH = "w";
+
+	/** Long option for the watch scoreboard action. **/
+	public static final String WATCH_LONG = "watch-scoreboard";
+
+	/** Description of the watch scoreboard action. **/
+	public static final String WATCH_DESCRIPTION = "Polls status periodically until interrupted, printing only changes.";
+
+	/** Short option for the interval parameter. **/
+	public static final String INTERVAL = "l";
+
+	/** Long option for the interval parameter. **/
+	public static final String INTERVAL_LONG = "interval";
+
+	/** Description of the interval parameter. **/
+	public static final String INTERVAL_DESCRIPTION = "Delay in seconds between two polls of the watch scoreboard action (default 30).";
+
+	/** Default delay in seconds between two polls. **/
+	public static final String DEFAULT_INTERVAL = "30";
+
+	/** Short option for the timers action. **/
+	public static final String TIMERS = "k";
+
+	/** Long option for the timers action. **/
+	public static final String TIMERS_LONG = "timers";
+
+	/** Description of the timers action. **/
+	public static final String TIMERS_DESCRIPTION = "Displays remaining time of every open download attempt.";
+
+	/** Short option for the alert parameter. **/
+	public static final String ALERT = "y";
+
+	/** Long option for the alert parameter. **/
+	public static final String ALERT_LONG = "alert";
+
+	/** Description of the alert parameter. **/
+	public static final String ALERT_DESCRIPTION = "Comma separated list of remaining seconds at which timers action should alert, until every timer expires.";
+
+	/** Short option for the force parameter. **/
+	public static final String FORCE = "j";
+
+	/** Long option for the force parameter. **/
+	public static final String FORCE_LONG = "force";
+
+	/** Description of the force parameter. **/
+	public static final String FORCE_DESCRIPTION = "Submits even if the download timer of the target input is expired.";
+
+	/** Short option for the profile action. **/
+	public static final String PROFILE = "r";
+
+	/** Long option for the profile action. **/
+	public static final String PROFILE_LONG = "profile";
+
+	/** Description of the profile action. **/
+	public static final String PROFILE_DESCRIPTION = "Profiles a solver over synthetic inputs of increasing size and projects its runtime against the submission timer.";
+
+	/** Short option for the solver parameter. **/
+	public static final String SOLVER = "x";
+
+	/** Long option for the solver parameter. **/
+	public static final String SOLVER_LONG = "solver";
+
+	/** Description of the solver parameter. **/
+	public static final String SOLVER_DESCRIPTION = "Solver command to profile, run through sh, which reads input from stdin.";
+
+	/** Short option for the generator parameter. **/
+	public static final String GENERATOR = "g";
+
+	/** Long option for the generator parameter. **/
+	public static final String GENERATOR_LONG = "generator";
+
+	/** Description of the generator parameter. **/
+	public static final String GENERATOR_DESCRIPTION = "Generator command, run through sh, that prints an input of the size given as last argument to stdout.";
+
+	/** Short option for the sizes parameter. **/
+	public static final String SIZES = "z";
+
+	/** Long option for the sizes parameter. **/
+	public static final String SIZES_LONG = "sizes";
+
+	/** Description of the sizes parameter. **/
+	public static final String SIZES_DESCRIPTION = "Comma separated list of input sizes to profile, the smallest one being used as baseline (default 100,1000,10000,100000).";
+
+	/** Default input sizes used for profiling. **/
+	public static final String DEFAULT_SIZES = "100,1000,10000,100000";
+
+	/** Short option for the bound parameter. **/
+	public static final String BOUND = "b";
+
+	/** Long option for the bound parameter. **/
+	public static final String BOUND_LONG = "bound";
+
+	/** Description of the bound parameter. **/
+	public static final String BOUND_DESCRIPTION = "Declared positive input size bound to project runtime for.";
+
+	/** Submission timer in minutes for small inputs. **/
+	public static final int SMALL_TIMER = 4;
+
+	/** Submission timer in minutes for large inputs. **/
+	public static final int LARGE_TIMER = 8;
+
+	/** Prefix of small input type names. **/
+	public static final String SMALL_INPUT = "small";
+
+	/** Prefix of large input type names. **/
+	public static final String LARGE_INPUT = "large";
 
 	/** Short option for the verbose mode. **/
 	public static final String VERBOSE = "v";
@@ -129,13 +273,27 @@ public final class ApplicationConstant {
 		options.addOption(INIT, INIT_LONG, false, INIT_DESCRIPTION);
 		options.addOption(DOWNLOAD, DOWNLOAD_LONG, false, DOWNLOAD_DESCRIPTION);
 		options.addOption(SUBMIT, SUBMIT_LONG, false, SUBMIT_DESCRIPTION);
+		options.addOption(BATCH, BATCH_LONG, false, BATCH_DESCRIPTION);
+		options.addOption(ENTRY, ENTRY_LONG, true, ENTRY_DESCRIPTION);
 		options.addOption(PROBLEM, PROBLEM_LONG, true, PROBLEM_DESCRIPTION);
 		options.addOption(INIT_METHOD, INIT_METHOD_LONG, true, INIT_METHOD_DESCRIPTION);
 		options.addOption(CONTEST, CONTEST_LONG, true, CONTEST_DESCRIPTION);
+		options.addOption(CONTEXT, CONTEXT_LONG, true, CONTEXT_DESCRIPTION);
 		options.addOption(DOWNLOAD_ATTEMPT, DOWNLOAD_ATTEMPT_LONG, true, DOWNLOAD_ATTEMPT_DESCRIPTION);
 		options.addOption(INPUT_TYPE, INPUT_TYPE_LONG, true, INPUT_TYPE_DESCRIPTION);
 		options.addOption(OUTPUT, OUTPUT_LONG, true, OUTPUT_DESCRIPTION);
 		options.addOption(SOURCE, SOURCE_LONG, true, SOURCE_DESCRIPTION);
+		options.addOption(STATUS, STATUS_LONG, false, STATUS_DESCRIPTION);
+		options.addOption(WATCH, WATCH_LONG, false, WATCH_DESCRIPTION);
+		options.addOption(INTERVAL, INTERVAL_LONG, true, INTERVAL_DESCRIPTION);
+		options.addOption(TIMERS, TIMERS_LONG, false, TIMERS_DESCRIPTION);
+		options.addOption(ALERT, ALERT_LONG, true, ALERT_DESCRIPTION);
+		options.addOption(FORCE, FORCE_LONG, false, FORCE_DESCRIPTION);
+		options.addOption(PROFILE, PROFILE_LONG, false, PROFILE_DESCRIPTION);
+		options.addOption(SOLVER, SOLVER_LONG, true, SOLVER_DESCRIPTION);
+		options.addOption(GENERATOR, GENERATOR_LONG, true, GENERATOR_DESCRIPTION);
+		options.addOption(SIZES, SIZES_LONG, true, SIZES_DESCRIPTION);
+		options.addOption(BOUND, BOUND_LONG, true, BOUND_DESCRIPTION);
 		options.addOption(VERBOSE, VERBOSE_LONG, false, VERBOSE_DESCRIPTION);
 		return options;
 	}
@@ -0,0 +1,95 @@
+package fr.faylixe.googlecodejam.cli;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * <p>Index of the {@link AttemptTimer} started in a workspace. Only the
+ * latest attempt of each problem input is kept, so the index stays
+ * small enough to be read on every shell prompt.</p>
+ *
+ * @author fv
+ */
+public final class AttemptIndex {
+
+	/** Workspace the index is stored in. **/
+	private final Workspace workspace;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param workspace Workspace the index is stored in.
+	 */
+	public AttemptIndex(final Workspace workspace) {
+		this.workspace = workspace;
+	}
+
+	/**
+	 * Parses timers from the given index <tt>content</tt>.
+	 *
+	 * @param content Index content.
+	 * @return Parsed timers.
+	 */
+	private static List<AttemptTimer> parse(final byte [] content) {
+		final List<AttemptTimer> timers = new ArrayList<>();
+		for (final String line : new String(content, StandardCharsets.UTF_8).split("\n")) {
+			final AttemptTimer timer = AttemptTimer.parse(line);
+			if (timer != null) {
+				timers.add(timer);
+			}
+		}
+		return timers;
+	}
+
+	/**
+	 * Records the given <tt>timer</tt>, replacing any
+	 * previous attempt of the same problem input.
+	 *
+	 * @param timer Timer to record.
+	 * @throws IOException If any error occurs while writing index.
+	 */
+	public void record(final AttemptTimer timer) throws IOException {
+		workspace.update(workspace.getAttemptsPath(), content -> {
+			final StringBuilder builder = new StringBuilder();
+			for (final AttemptTimer existing : parse(content)) {
+				if (!existing.matches(timer.getProblem(), timer.getInputType())) {
+					builder.append(existing.format()).append('\n');
+				}
+			}
+			builder.append(timer.format()).append('\n');
+			return builder.toString().getBytes(StandardCharsets.UTF_8);
+		});
+	}
+
+	/**
+	 * Retrieves every recorded timer, sorted by deadline.
+	 *
+	 * @return Recorded timers.
+	 * @throws IOException If any error occurs while reading index.
+	 */
+	public List<AttemptTimer> getAll() throws IOException {
+		final List<AttemptTimer> timers = parse(workspace.readIfExists(workspace.getAttemptsPath()));
+		timers.sort(Comparator.comparingLong(AttemptTimer::getDeadline));
+		return timers;
+	}
+
+	/**
+	 * Retrieves the latest timer started for the given problem input.
+	 *
+	 * @param problem Problem to retrieve timer for.
+	 * @param inputType Input type to retrieve timer for.
+	 * @return Latest timer if any.
+	 * @throws IOException If any error occurs while reading index.
+	 */
+	public Optional<AttemptTimer> get(final String problem, final String inputType) throws IOException {
+		return getAll()
+				.stream()
+				.filter(timer -> timer.matches(problem, inputType))
+				.findFirst();
+	}
+
+}
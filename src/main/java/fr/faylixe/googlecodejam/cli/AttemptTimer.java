@@ -0,0 +1,191 @@
+package fr.faylixe.googlecodejam.cli;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Submission timer started by the download of an input file.
+ * Timers are stored as single lines of the attempt index, with
+ * space separated fields, so they could be read from shell scripts.</p>
+ *
+ * @author fv
+ */
+public final class AttemptTimer {
+
+	/** Separator between fields of a stored timer. **/
+	private static final String SEPARATOR = " ";
+
+	/** Number of fields of a stored timer. **/
+	private static final int FIELDS = 5;
+
+	/** Problem the input belongs to. **/
+	private final String problem;
+
+	/** Downloaded input type. **/
+	private final String inputType;
+
+	/** Attempt number. **/
+	private final int attempt;
+
+	/** Download time in milliseconds since epoch. **/
+	private final long start;
+
+	/** Timer expiration time in milliseconds since epoch. **/
+	private final long deadline;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param problem Problem the input belongs to.
+	 * @param inputType Downloaded input type.
+	 * @param attempt Attempt number.
+	 * @param start Download time in milliseconds since epoch.
+	 * @param deadline Timer expiration time in milliseconds since epoch.
+	 */
+	public AttemptTimer(final String problem, final String inputType, final int attempt, final long start, final long deadline) {
+		this.problem = problem;
+		this.inputType = inputType;
+		this.attempt = attempt;
+		this.start = start;
+		this.deadline = deadline;
+	}
+
+	/**
+	 * Getter for the problem.
+	 *
+	 * @return Problem the input belongs to.
+	 */
+	public String getProblem() {
+		return problem;
+	}
+
+	/**
+	 * Getter for the input type.
+	 *
+	 * @return Downloaded input type.
+	 */
+	public String getInputType() {
+		return inputType;
+	}
+
+	/**
+	 * Getter for the attempt number.
+	 *
+	 * @return Attempt number.
+	 */
+	public int getAttempt() {
+		return attempt;
+	}
+
+	/**
+	 * Getter for the download time.
+	 *
+	 * @return Download time in milliseconds since epoch.
+	 */
+	public long getStart() {
+		return start;
+	}
+
+	/**
+	 * Getter for the expiration time.
+	 *
+	 * @return Timer expiration time in milliseconds since epoch.
+	 */
+	public long getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * Indicates if this timer matches the given <tt>problem</tt> and <tt>inputType</tt>.
+	 *
+	 * @param problem Problem to check.
+	 * @param inputType Input type to check.
+	 * @return <tt>true</tt> if this timer has been started for the given input, <tt>false</tt> otherwise.
+	 */
+	public boolean matches(final String problem, final String inputType) {
+		return this.problem.equalsIgnoreCase(problem) && this.inputType.equalsIgnoreCase(inputType);
+	}
+
+	/**
+	 * Computes the remaining time at the given <tt>time</tt>.
+	 *
+	 * @param time Time in milliseconds since epoch.
+	 * @return Remaining time in milliseconds, negative if expired.
+	 */
+	public long getRemaining(final long time) {
+		return deadline - time;
+	}
+
+	/**
+	 * Indicates if this timer is expired at the given <tt>time</tt>.
+	 *
+	 * @param time Time in milliseconds since epoch.
+	 * @return <tt>true</tt> if this timer is expired, <tt>false</tt> otherwise.
+	 */
+	public boolean isExpired(final long time) {
+		return getRemaining(time) <= 0;
+	}
+
+	/**
+	 * Describes the state of this timer at the given <tt>time</tt>.
+	 *
+	 * @param time Time in milliseconds since epoch.
+	 * @return Human readable timer state.
+	 */
+	public String describe(final long time) {
+		final StringBuilder builder = new StringBuilder()
+			.append(problem)
+			.append(' ')
+			.append(inputType)
+			.append(" #")
+			.append(attempt)
+			.append(' ');
+		if (isExpired(time)) {
+			return builder.append("expired").toString();
+		}
+		final long seconds = TimeUnit.MILLISECONDS.toSeconds(getRemaining(time));
+		return builder
+			.append(String.format("%d:%02d", seconds / 60, seconds % 60))
+			.append(" left")
+			.toString();
+	}
+
+	/**
+	 * Formats this timer as an index line.
+	 *
+	 * @return Index line.
+	 */
+	public String format() {
+		return String.join(
+				SEPARATOR,
+				problem,
+				inputType,
+				String.valueOf(attempt),
+				String.valueOf(start),
+				String.valueOf(deadline));
+	}
+
+	/**
+	 * Static factory method that parses an index line.
+	 *
+	 * @param line Index line to parse.
+	 * @return Parsed timer, or <tt>null</tt> if the line is not valid.
+	 */
+	public static AttemptTimer parse(final String line) {
+		final String [] fields = line.trim().split(SEPARATOR);
+		if (fields.length != FIELDS) {
+			return null;
+		}
+		try {
+			return new AttemptTimer(
+					fields[0],
+					fields[1],
+					Integer.parseInt(fields[2]),
+					Long.parseLong(fields[3]),
+					Long.parseLong(fields[4]));
+		}
+		catch (final NumberFormatException e) {
+			return null;
+		}
+	}
+
+}
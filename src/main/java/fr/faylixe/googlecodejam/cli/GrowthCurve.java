@@ -0,0 +1,158 @@
+package fr.faylixe.googlecodejam.cli;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * <p>Growth curve <tt>time = baseline + coefficient * size ^ exponent</tt>.
+ * The baseline is the fixed cost of a run (process startup, input parsing, ...)
+ * measured on the smallest input, and the power law is fitted by least squares
+ * over the logarithm of the time spent above this baseline, so the fixed
+ * cost does not flatten the fitted exponent.</p>
+ *
+ * @author fv
+ */
+public final class GrowthCurve {
+
+	/** Minimum noise in milliseconds, below which time measures are not significant. **/
+	private static final long MINIMUM_NOISE = 5;
+
+	/** Ratio of the baseline considered as noise. **/
+	private static final double NOISE_RATIO = 0.1;
+
+	/** Factor applied to the baseline spread for estimating noise. **/
+	private static final int SPREAD_FACTOR = 2;
+
+	/** Minimum number of samples clearly above baseline required for fitting. **/
+	private static final int MINIMUM_SAMPLES = 2;
+
+	/** Fixed time of a run in milliseconds. **/
+	private final long baseline;
+
+	/** Curve coefficient. **/
+	private final double coefficient;
+
+	/** Curve exponent. **/
+	private final double exponent;
+
+	/**
+	 * Private constructor, use {@link #fit(List, List)} instead.
+	 *
+	 * @param baseline Fixed time of a run in milliseconds.
+	 * @param coefficient Curve coefficient.
+	 * @param exponent Curve exponent.
+	 */
+	private GrowthCurve(final long baseline, final double coefficient, final double exponent) {
+		this.baseline = baseline;
+		this.coefficient = coefficient;
+		this.exponent = exponent;
+	}
+
+	/**
+	 * Getter for the curve exponent.
+	 *
+	 * @return Exponent of the fitted power law.
+	 */
+	public double getExponent() {
+		return exponent;
+	}
+
+	/**
+	 * Projects the wall time for the given input <tt>size</tt>.
+	 *
+	 * @param size Input size to project wall time for.
+	 * @return Projected wall time in milliseconds.
+	 */
+	public double project(final long size) {
+		return baseline + coefficient * Math.pow(size, exponent);
+	}
+
+	/**
+	 * Computes the baseline from the given runs, as their fastest wall time.
+	 *
+	 * @param baselineRuns Repeated runs on the smallest input.
+	 * @return Baseline in milliseconds.
+	 */
+	public static long getBaseline(final List<ProfileSample> baselineRuns) {
+		return baselineRuns
+				.stream()
+				.mapToLong(ProfileSample::getWallTime)
+				.min()
+				.orElse(0);
+	}
+
+	/**
+	 * Computes the noise from the given runs. It is the largest of twice the
+	 * spread between runs, a ratio of the baseline, and a minimum noise.
+	 *
+	 * @param baselineRuns Repeated runs on the smallest input.
+	 * @return Noise in milliseconds.
+	 */
+	public static long getNoise(final List<ProfileSample> baselineRuns) {
+		final long baseline = getBaseline(baselineRuns);
+		final long slowest = baselineRuns
+				.stream()
+				.mapToLong(ProfileSample::getWallTime)
+				.max()
+				.orElse(0);
+		return Math.max(
+				Math.max(MINIMUM_NOISE, SPREAD_FACTOR * (slowest - baseline)),
+				(long) Math.ceil(baseline * NOISE_RATIO));
+	}
+
+	/**
+	 * Indicates if the given <tt>sample</tt> is clearly above the baseline.
+	 *
+	 * @param sample Sample to check.
+	 * @param baseline Baseline in milliseconds.
+	 * @param noise Noise in milliseconds.
+	 * @return <tt>true</tt> if the sample could be used for fitting, <tt>false</tt> otherwise.
+	 */
+	public static boolean isSignificant(final ProfileSample sample, final long baseline, final long noise) {
+		return sample.getSize() > 0 && sample.getWallTime() - baseline > noise;
+	}
+
+	/**
+	 * Static factory method that fits a curve over the given <tt>samples</tt>.
+	 * Samples whose wall time is within noise of the baseline are ignored, since
+	 * they mostly measure the fixed cost of a run.
+	 *
+	 * @param baselineRuns Repeated runs on the smallest input, used for computing baseline and noise.
+	 * @param samples Samples to fit curve over.
+	 * @return Fitted curve, or an empty optional if less than two distinct sizes are clearly above baseline.
+	 */
+	public static Optional<GrowthCurve> fit(final List<ProfileSample> baselineRuns, final List<ProfileSample> samples) {
+		final long baseline = getBaseline(baselineRuns);
+		final long noise = getNoise(baselineRuns);
+		int count = 0;
+		double sumX = 0;
+		double sumY = 0;
+		double sumXX = 0;
+		double sumXY = 0;
+		for (final ProfileSample sample : samples) {
+			if (isSignificant(sample, baseline, noise)) {
+				final double x = Math.log(sample.getSize());
+				final double y = Math.log(sample.getWallTime() - baseline);
+				sumX += x;
+				sumY += y;
+				sumXX += x * x;
+				sumXY += x * y;
+				count++;
+			}
+		}
+		final double denominator = count * sumXX - sumX * sumX;
+		if (count < MINIMUM_SAMPLES || denominator == 0) {
+			return Optional.empty();
+		}
+		final double exponent = (count * sumXY - sumX * sumY) / denominator;
+		final double intercept = (sumY - exponent * sumX) / count;
+		return Optional.of(new GrowthCurve(baseline, Math.exp(intercept), exponent));
+	}
+
+	/** {@inheritDoc} **/
+	@Override
+	public String toString() {
+		return String.format("time(ms) = %d + %.6g * n^%.3f", baseline, coefficient, exponent);
+	}
+
+}
@@ -0,0 +1,91 @@
+package fr.faylixe.googlecodejam.cli;
+
+/**
+ * <p>Measures collected for a single solver execution
+ * on a synthetic input of a given size.</p>
+ *
+ * @author fv
+ */
+public final class ProfileSample {
+
+	/** Value used when a measure is not available on this platform. **/
+	public static final long UNAVAILABLE = -1;
+
+	/** Size of the generated input. **/
+	private final long size;
+
+	/** Elapsed wall time in milliseconds. **/
+	private final long wallTime;
+
+	/** Consumed CPU time in milliseconds. **/
+	private final long cpuTime;
+
+	/** Peak resident memory in kilobytes. **/
+	private final long peakMemory;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param size Size of the generated input.
+	 * @param wallTime Elapsed wall time in milliseconds.
+	 * @param cpuTime Consumed CPU time in milliseconds, or {@link #UNAVAILABLE}.
+	 * @param peakMemory Peak resident memory in kilobytes, or {@link #UNAVAILABLE}.
+	 */
+	public ProfileSample(final long size, final long wallTime, final long cpuTime, final long peakMemory) {
+		this.size = size;
+		this.wallTime = wallTime;
+		this.cpuTime = cpuTime;
+		this.peakMemory = peakMemory;
+	}
+
+	/**
+	 * Getter for the input size.
+	 *
+	 * @return Size of the generated input.
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * Getter for the wall time.
+	 *
+	 * @return Elapsed wall time in milliseconds.
+	 */
+	public long getWallTime() {
+		return wallTime;
+	}
+
+	/**
+	 * Getter for the CPU time.
+	 *
+	 * @return Consumed CPU time in milliseconds, or {@link #UNAVAILABLE}.
+	 */
+	public long getCpuTime() {
+		return cpuTime;
+	}
+
+	/**
+	 * Getter for the peak memory.
+	 *
+	 * @return Peak resident memory in kilobytes, or {@link #UNAVAILABLE}.
+	 */
+	public long getPeakMemory() {
+		return peakMemory;
+	}
+
+	/** {@inheritDoc} **/
+	@Override
+	public String toString() {
+		return new StringBuilder()
+			.append(size)
+			.append('\t')
+			.append(wallTime)
+			.append('\t')
+			.append(cpuTime == UNAVAILABLE ? "n/a" : String.valueOf(cpuTime))
+			.append('\t')
+			.append(peakMemory == UNAVAILABLE ? "n/a" : String.valueOf(peakMemory))
+			.toString();
+	}
+
+}
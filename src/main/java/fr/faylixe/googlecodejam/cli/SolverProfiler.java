@@ -0,0 +1,192 @@
+package fr.faylixe.googlecodejam.cli;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Runs a solver command on synthetic inputs produced by
+ * a generator command, and measures each execution.</p>
+ *
+ * <p>Wall time is always available. CPU time and peak memory are
+ * read from <tt>/proc</tt>, and are thus only reported on Linux.
+ * CPU time is the increase of the children CPU time of this JVM once
+ * the solver has been waited for, so it includes every process the
+ * solver itself waited for (when run through a wrapper script for
+ * instance). Peak memory is sampled while the solver is running, and
+ * is thus only the one of the direct child process : with a wrapper
+ * such as <tt>sh run.sh</tt> it measures the shell rather than the
+ * actual solver, and runs shorter than the sampling interval
+ * report no memory at all.</p>
+ *
+ * @author fv
+ */
+public final class SolverProfiler {
+
+	/** Delay between two <tt>/proc</tt> samples in milliseconds. **/
+	private static final long SAMPLING_INTERVAL = 10;
+
+	/** Kernel clock ticks per second used by <tt>/proc/[pid]/stat</tt>. **/
+	private static final long CLOCK_TICKS = 100;
+
+	/** Index of the <tt>cutime</tt> field once <tt>pid</tt> and <tt>comm</tt> are removed. **/
+	private static final int CUTIME_FIELD = 13;
+
+	/** Number of children CPU time fields (cutime, cstime). **/
+	private static final int CPU_FIELDS = 2;
+
+	/** Path of the stat file of this JVM. **/
+	private static final String SELF_STAT = "/proc/self/stat";
+
+	/** Prefix of the peak resident memory line in <tt>/proc/[pid]/status</tt>. **/
+	private static final String PEAK_MEMORY_PREFIX = "VmHWM:";
+
+	/** File extension for generated input. **/
+	private static final String INPUT_EXTENSION = ".in";
+
+	/** File extension for solver output. **/
+	private static final String OUTPUT_EXTENSION = ".out";
+
+	/** Solver command to profile. **/
+	private final List<String> solver;
+
+	/** Generator command, invoked with the input size as last argument. **/
+	private final List<String> generator;
+
+	/** Directory in which generated inputs and outputs are written. **/
+	private final Path directory;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param solver Solver command to profile.
+	 * @param generator Generator command, invoked with the input size as last argument.
+	 * @param directory Directory in which generated inputs and outputs are written.
+	 */
+	public SolverProfiler(final List<String> solver, final List<String> generator, final Path directory) {
+		this.solver = solver;
+		this.generator = generator;
+		this.directory = directory;
+	}
+
+	/**
+	 * Generates an input of the given <tt>size</tt> and
+	 * profiles the solver execution over it.
+	 *
+	 * @param size Size of the input to generate.
+	 * @return Collected measures.
+	 * @throws IOException If generator or solver could not be executed, or exited abnormally.
+	 * @throws InterruptedException If interrupted while waiting for a process.
+	 */
+	public ProfileSample run(final long size) throws IOException, InterruptedException {
+		Files.createDirectories(directory);
+		final Path input = directory.resolve(size + INPUT_EXTENSION);
+		final Path output = directory.resolve(size + OUTPUT_EXTENSION);
+		final List<String> generatorCommand = new ArrayList<>(generator);
+		generatorCommand.add(String.valueOf(size));
+		final Process generation = new ProcessBuilder(generatorCommand)
+			.redirectOutput(input.toFile())
+			.redirectError(ProcessBuilder.Redirect.INHERIT)
+			.start();
+		if (generation.waitFor() != 0) {
+			throw new IOException("Generator exited with status " + generation.exitValue() + " for size " + size);
+		}
+		final long cpuStart = readChildrenCpuTime();
+		final long start = System.nanoTime();
+		final Process process = new ProcessBuilder(solver)
+			.redirectInput(input.toFile())
+			.redirectOutput(output.toFile())
+			.redirectError(ProcessBuilder.Redirect.INHERIT)
+			.start();
+		final long pid = getPid(process);
+		long peakMemory = ProfileSample.UNAVAILABLE;
+		while (!process.waitFor(SAMPLING_INTERVAL, TimeUnit.MILLISECONDS)) {
+			if (pid != ProfileSample.UNAVAILABLE) {
+				peakMemory = Math.max(peakMemory, readPeakMemory(pid));
+			}
+		}
+		final long wallTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		final long cpuEnd = readChildrenCpuTime();
+		final long cpuTime = (cpuStart == ProfileSample.UNAVAILABLE || cpuEnd == ProfileSample.UNAVAILABLE)
+				? ProfileSample.UNAVAILABLE
+				: cpuEnd - cpuStart;
+		if (process.exitValue() != 0) {
+			throw new IOException("Solver exited with status " + process.exitValue() + " for size " + size);
+		}
+		return new ProfileSample(size, wallTime, cpuTime, peakMemory);
+	}
+
+	/**
+	 * Retrieves the operating system identifier of the given <tt>process</tt>.
+	 * Uses <tt>Process#pid()</tt> when running on Java 9 or later, and falls
+	 * back to the private <tt>pid</tt> field of the Java 8 UNIX implementation.
+	 *
+	 * @param process Process to retrieve identifier for.
+	 * @return Process identifier, or {@link ProfileSample#UNAVAILABLE} if it could not be retrieved.
+	 */
+	private static long getPid(final Process process) {
+		try {
+			return (Long) Process.class.getMethod("pid").invoke(process);
+		}
+		catch (final ReflectiveOperationException | RuntimeException e) {
+			try {
+				final Field field = process.getClass().getDeclaredField("pid");
+				field.setAccessible(true);
+				return field.getLong(process);
+			}
+			catch (final ReflectiveOperationException | RuntimeException fallback) {
+				return ProfileSample.UNAVAILABLE;
+			}
+		}
+	}
+
+	/**
+	 * Reads the CPU time consumed by the waited children of this
+	 * JVM from <tt>/proc/self/stat</tt>. Since the JVM reaps the solver
+	 * process, its CPU time is added there once it has been waited for.
+	 *
+	 * @return Children CPU time in milliseconds, or {@link ProfileSample#UNAVAILABLE}.
+	 */
+	private static long readChildrenCpuTime() {
+		try {
+			final String stat = new String(Files.readAllBytes(Paths.get(SELF_STAT)));
+			final String [] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+			long ticks = 0;
+			for (int i = CUTIME_FIELD; i < CUTIME_FIELD + CPU_FIELDS; i++) {
+				ticks += Long.parseLong(fields[i]);
+			}
+			return TimeUnit.SECONDS.toMillis(ticks) / CLOCK_TICKS;
+		}
+		catch (final IOException | RuntimeException e) {
+			return ProfileSample.UNAVAILABLE;
+		}
+	}
+
+	/**
+	 * Reads the peak resident memory of the given process
+	 * from <tt>/proc/[pid]/status</tt>.
+	 *
+	 * @param pid Identifier of the process to read.
+	 * @return Peak resident memory in kilobytes, or {@link ProfileSample#UNAVAILABLE}.
+	 */
+	private static long readPeakMemory(final long pid) {
+		try {
+			for (final String line : Files.readAllLines(Paths.get("/proc", String.valueOf(pid), "status"))) {
+				if (line.startsWith(PEAK_MEMORY_PREFIX)) {
+					final String value = line.substring(PEAK_MEMORY_PREFIX.length()).trim();
+					return Long.parseLong(value.split("\\s+")[0]);
+				}
+			}
+		}
+		catch (final IOException | RuntimeException e) {
+			// Process already exited or not running on Linux.
+		}
+		return ProfileSample.UNAVAILABLE;
+	}
+
+}
@@ -0,0 +1,97 @@
+package fr.faylixe.googlecodejam.cli;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * <p>Bundles a source directory into a zip archive. Each
+ * file is streamed directly into the archive, so no temporary
+ * copy of the sources is made. Hidden files and directories are
+ * not bundled, neither are excluded directories such as the ones
+ * managed by the {@link Workspace}.</p>
+ *
+ * @author fv
+ */
+public final class SourceBundle {
+
+	/** File extension of created archive. **/
+	public static final String EXTENSION = ".zip";
+
+	/**
+	 * Private constructor for avoiding instantiation.
+	 */
+	private SourceBundle() {
+		// Do nothing.
+	}
+
+	/**
+	 * Bundles every non hidden regular file of the given <tt>directory</tt>
+	 * into the given <tt>target</tt> archive. Hidden directories and the
+	 * given <tt>excluded</tt> ones are skipped with their whole content.
+	 *
+	 * @param directory Source directory to bundle.
+	 * @param target Path of the archive to create.
+	 * @param excluded Directories that should not be bundled.
+	 * @return Path of the created archive.
+	 * @throws IOException If any error occurs while reading sources or writing archive.
+	 */
+	public static Path bundle(final Path directory, final Path target, final Collection<Path> excluded) throws IOException {
+		final Path absoluteTarget = target.toAbsolutePath().normalize();
+		final Set<Path> absoluteExcluded = new HashSet<>();
+		for (final Path path : excluded) {
+			absoluteExcluded.add(path.toAbsolutePath().normalize());
+		}
+		try (final OutputStream stream = Files.newOutputStream(target);
+				final ZipOutputStream zip = new ZipOutputStream(stream)) {
+			Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+				/** {@inheritDoc} **/
+				@Override
+				public FileVisitResult preVisitDirectory(final Path current, final BasicFileAttributes attributes) {
+					if (!current.equals(directory)
+							&& (isHidden(current) || absoluteExcluded.contains(current.toAbsolutePath().normalize()))) {
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				/** {@inheritDoc} **/
+				@Override
+				public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) throws IOException {
+					if (attributes.isRegularFile()
+							&& !isHidden(file)
+							&& !file.toAbsolutePath().normalize().equals(absoluteTarget)) {
+						zip.putNextEntry(new ZipEntry(directory.relativize(file).toString().replace('\\', '/')));
+						Files.copy(file, zip);
+						zip.closeEntry();
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+			});
+		}
+		return target;
+	}
+
+	/**
+	 * Indicates if the given <tt>path</tt> is hidden.
+	 *
+	 * @param path Path to check.
+	 * @return <tt>true</tt> if the path name starts with a dot, <tt>false</tt> otherwise.
+	 */
+	private static boolean isHidden(final Path path) {
+		final Path name = path.getFileName();
+		return name != null && name.toString().startsWith(".");
+	}
+
+}
@@ -0,0 +1,187 @@
+package fr.faylixe.googlecodejam.cli;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.SerializationException;
+
+/**
+ * <p>Polls the status of a workspace, and reports changes relatively
+ * to a {@link StatusSnapshot} : new submission verdicts, and expired
+ * submission timers. Verdicts are the ones returned by the judge to
+ * the <tt>submit</tt> and <tt>batch</tt> actions through the contextual
+ * session, and timers the ones started by the <tt>download</tt> action,
+ * so polling never performs any additional request. The first poll of
+ * a workspace without snapshot only fills it, without reporting.</p>
+ *
+ * <p>A poller instance is meant to be reused across polls, since
+ * each index is only read again once it has been modified.</p>
+ *
+ * @author fv
+ */
+public final class StatusPoller {
+
+	/** Separator between problem and input type of verdict keys. **/
+	private static final String KEY_SEPARATOR = " ";
+
+	/** Workspace to poll. **/
+	private final Workspace workspace;
+
+	/** Index of the received verdicts. **/
+	private final VerdictIndex verdictIndex;
+
+	/** Index of the started timers. **/
+	private final AttemptIndex attemptIndex;
+
+	/** Last read verdicts. **/
+	private List<Verdict> verdicts;
+
+	/** Last read timers. **/
+	private List<AttemptTimer> timers;
+
+	/** Last read or written snapshot. **/
+	private StatusSnapshot snapshot;
+
+	/** Modification time of the verdict index when last read. **/
+	private FileTime verdictsTime;
+
+	/** Modification time of the attempt index when last read. **/
+	private FileTime attemptsTime;
+
+	/** Modification time of the snapshot when last read or written. **/
+	private FileTime snapshotTime;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param workspace Workspace to poll.
+	 */
+	public StatusPoller(final Workspace workspace) {
+		this.workspace = workspace;
+		this.verdictIndex = new VerdictIndex(workspace);
+		this.attemptIndex = new AttemptIndex(workspace);
+		this.verdicts = Collections.emptyList();
+		this.timers = Collections.emptyList();
+	}
+
+	/**
+	 * Polls the workspace, and updates the snapshot.
+	 *
+	 * @return Human readable list of changes since the last poll, empty for the first poll.
+	 * @throws IOException If any error occurs while reading indexes or writing snapshot.
+	 */
+	public List<String> poll() throws IOException {
+		final Path verdictsPath = workspace.getVerdictsPath();
+		final FileTime currentVerdictsTime = getModificationTime(verdictsPath);
+		if (currentVerdictsTime == null || !currentVerdictsTime.equals(verdictsTime)) {
+			verdicts = verdictIndex.getAll();
+			verdictsTime = currentVerdictsTime;
+		}
+		final Path attemptsPath = workspace.getAttemptsPath();
+		final FileTime currentAttemptsTime = getModificationTime(attemptsPath);
+		if (currentAttemptsTime == null || !currentAttemptsTime.equals(attemptsTime)) {
+			timers = attemptIndex.getAll();
+			attemptsTime = currentAttemptsTime;
+		}
+		final Path snapshotPath = workspace.getStatusPath();
+		final FileTime currentSnapshotTime = getModificationTime(snapshotPath);
+		boolean first = false;
+		if (currentSnapshotTime == null || !currentSnapshotTime.equals(snapshotTime)) {
+			snapshot = readSnapshot(snapshotPath);
+			first = (snapshot == null);
+			if (first) {
+				snapshot = new StatusSnapshot();
+			}
+		}
+		final List<String> changes = new ArrayList<>();
+		boolean modified = compareVerdicts(changes);
+		modified |= compareTimers(changes);
+		if (first || modified) {
+			workspace.write(snapshotPath, snapshot);
+			snapshotTime = getModificationTime(snapshotPath);
+		}
+		return first ? Collections.emptyList() : changes;
+	}
+
+	/**
+	 * Compares last read verdicts with the snapshot, and reports new ones.
+	 *
+	 * @param changes List to report changes into.
+	 * @return <tt>true</tt> if the snapshot has been modified, <tt>false</tt> otherwise.
+	 */
+	private boolean compareVerdicts(final List<String> changes) {
+		boolean modified = false;
+		for (final Verdict verdict : verdicts) {
+			final String key = verdict.getProblem() + KEY_SEPARATOR + verdict.getInputType();
+			final String line = verdict.format();
+			if (!line.equals(snapshot.getVerdicts().put(key, line))) {
+				changes.add("Verdict " + verdict.describe());
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	/**
+	 * Compares last read timers with the snapshot, and reports newly expired
+	 * ones. Timers that are no longer in the index are removed from the snapshot.
+	 *
+	 * @param changes List to report changes into.
+	 * @return <tt>true</tt> if the snapshot has been modified, <tt>false</tt> otherwise.
+	 */
+	private boolean compareTimers(final List<String> changes) {
+		final long now = System.currentTimeMillis();
+		final Set<String> lines = new HashSet<>();
+		boolean modified = false;
+		for (final AttemptTimer timer : timers) {
+			final String line = timer.format();
+			lines.add(line);
+			if (timer.isExpired(now) && snapshot.getExpiredTimers().add(line)) {
+				changes.add("Timer of " + timer.describe(now));
+				modified = true;
+			}
+		}
+		return snapshot.getExpiredTimers().retainAll(lines) || modified;
+	}
+
+	/**
+	 * Reads the snapshot stored in the given <tt>path</tt>.
+	 *
+	 * @param path Path of the snapshot file.
+	 * @return Read snapshot, or <tt>null</tt> if missing or written by an incompatible version.
+	 * @throws IOException If any error occurs while reading snapshot.
+	 */
+	private StatusSnapshot readSnapshot(final Path path) throws IOException {
+		try {
+			return workspace.read(path);
+		}
+		catch (final NoSuchFileException | SerializationException | ClassCastException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Retrieves the modification time of the given <tt>path</tt>.
+	 *
+	 * @param path Path to retrieve modification time for.
+	 * @return Modification time, or <tt>null</tt> if the file does not exist.
+	 * @throws IOException If any error occurs while reading file attributes.
+	 */
+	private static FileTime getModificationTime(final Path path) throws IOException {
+		try {
+			return Files.getLastModifiedTime(path);
+		}
+		catch (final NoSuchFileException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+package fr.faylixe.googlecodejam.cli;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Local snapshot of the last reported status. It stores
+ * the verdicts and the expired timers that have already been
+ * reported, so next polls only report changes.</p>
+ *
+ * @author fv
+ */
+public final class StatusSnapshot implements Serializable {
+
+	/** Serialization index. **/
+	private static final long serialVersionUID = 2L;
+
+	/** Reported verdict index lines indexed by problem input. **/
+	private final HashMap<String, String> verdicts;
+
+	/** Reported expired timer index lines. **/
+	private final HashSet<String> expiredTimers;
+
+	/**
+	 * Default constructor, creates an empty snapshot.
+	 */
+	public StatusSnapshot() {
+		this.verdicts = new HashMap<>();
+		this.expiredTimers = new HashSet<>();
+	}
+
+	/**
+	 * Getter for the reported verdicts.
+	 *
+	 * @return Mutable map of verdict index lines indexed by problem input.
+	 */
+	public Map<String, String> getVerdicts() {
+		return verdicts;
+	}
+
+	/**
+	 * Getter for the reported expired timers.
+	 *
+	 * @return Mutable set of expired timer index lines.
+	 */
+	public Set<String> getExpiredTimers() {
+		return expiredTimers;
+	}
+
+}
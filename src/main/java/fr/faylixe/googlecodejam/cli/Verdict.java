@@ -0,0 +1,152 @@
+package fr.faylixe.googlecodejam.cli;
+
+/**
+ * <p>Verdict of a submission, as returned by the judge in the
+ * {@link fr.faylixe.googlecodejam.client.webservice.SubmitResponse}.
+ * Verdicts are stored as single lines of the verdict index, with
+ * space separated fields, the message being the last one.</p>
+ *
+ * @author fv
+ */
+public final class Verdict {
+
+	/** Separator between fields of a stored verdict. **/
+	private static final String SEPARATOR = " ";
+
+	/** Number of fields of a stored verdict. **/
+	private static final int FIELDS = 5;
+
+	/** Stored status of a successful submission. **/
+	private static final String SUCCESS = "success";
+
+	/** Stored status of a failed submission. **/
+	private static final String FAILURE = "failed";
+
+	/** Problem the input belongs to. **/
+	private final String problem;
+
+	/** Submitted input type. **/
+	private final String inputType;
+
+	/** Submission time in milliseconds since epoch. **/
+	private final long time;
+
+	/** Indicates if the submission was successful. **/
+	private final boolean success;
+
+	/** Judge message, on a single line. **/
+	private final String message;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param problem Problem the input belongs to.
+	 * @param inputType Submitted input type.
+	 * @param time Submission time in milliseconds since epoch.
+	 * @param success <tt>true</tt> if the submission was successful, <tt>false</tt> otherwise.
+	 * @param message Judge message, could be <tt>null</tt>.
+	 */
+	public Verdict(final String problem, final String inputType, final long time, final boolean success, final String message) {
+		this.problem = problem;
+		this.inputType = inputType;
+		this.time = time;
+		this.success = success;
+		this.message = (message == null ? "" : message.trim().replaceAll("\\s+", SEPARATOR));
+	}
+
+	/**
+	 * Getter for the problem.
+	 *
+	 * @return Problem the input belongs to.
+	 */
+	public String getProblem() {
+		return problem;
+	}
+
+	/**
+	 * Getter for the input type.
+	 *
+	 * @return Submitted input type.
+	 */
+	public String getInputType() {
+		return inputType;
+	}
+
+	/**
+	 * Getter for the submission time.
+	 *
+	 * @return Submission time in milliseconds since epoch.
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Indicates if this verdict matches the given <tt>problem</tt> and <tt>inputType</tt>.
+	 *
+	 * @param problem Problem to check.
+	 * @param inputType Input type to check.
+	 * @return <tt>true</tt> if this verdict has been given for the given input, <tt>false</tt> otherwise.
+	 */
+	public boolean matches(final String problem, final String inputType) {
+		return this.problem.equalsIgnoreCase(problem) && this.inputType.equalsIgnoreCase(inputType);
+	}
+
+	/**
+	 * Describes this verdict.
+	 *
+	 * @return Human readable verdict.
+	 */
+	public String describe() {
+		final StringBuilder builder = new StringBuilder()
+			.append(problem)
+			.append(' ')
+			.append(inputType)
+			.append(" : ")
+			.append(success ? SUCCESS : FAILURE);
+		if (!message.isEmpty()) {
+			builder.append(" (").append(message).append(')');
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Formats this verdict as an index line.
+	 *
+	 * @return Index line.
+	 */
+	public String format() {
+		return String.join(
+				SEPARATOR,
+				problem,
+				inputType,
+				String.valueOf(time),
+				success ? SUCCESS : FAILURE,
+				message);
+	}
+
+	/**
+	 * Static factory method that parses an index line.
+	 *
+	 * @param line Index line to parse.
+	 * @return Parsed verdict, or <tt>null</tt> if the line is not valid.
+	 */
+	public static Verdict parse(final String line) {
+		final String [] fields = line.split(SEPARATOR, FIELDS);
+		if (fields.length != FIELDS) {
+			return null;
+		}
+		try {
+			return new Verdict(
+					fields[0],
+					fields[1],
+					Long.parseLong(fields[2]),
+					SUCCESS.equals(fields[3]),
+					fields[4]);
+		}
+		catch (final NumberFormatException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,79 @@
+package fr.faylixe.googlecodejam.cli;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p>Index of the {@link Verdict} received in a workspace. Only the
+ * latest verdict of each problem input is kept, so the index stays
+ * small enough to be read on every status poll.</p>
+ *
+ * @author fv
+ */
+public final class VerdictIndex {
+
+	/** Workspace the index is stored in. **/
+	private final Workspace workspace;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param workspace Workspace the index is stored in.
+	 */
+	public VerdictIndex(final Workspace workspace) {
+		this.workspace = workspace;
+	}
+
+	/**
+	 * Parses verdicts from the given index <tt>content</tt>.
+	 *
+	 * @param content Index content.
+	 * @return Parsed verdicts.
+	 */
+	private static List<Verdict> parse(final byte [] content) {
+		final List<Verdict> verdicts = new ArrayList<>();
+		for (final String line : new String(content, StandardCharsets.UTF_8).split("\n")) {
+			final Verdict verdict = Verdict.parse(line);
+			if (verdict != null) {
+				verdicts.add(verdict);
+			}
+		}
+		return verdicts;
+	}
+
+	/**
+	 * Records the given <tt>verdict</tt>, replacing any
+	 * previous verdict of the same problem input.
+	 *
+	 * @param verdict Verdict to record.
+	 * @throws IOException If any error occurs while writing index.
+	 */
+	public void record(final Verdict verdict) throws IOException {
+		workspace.update(workspace.getVerdictsPath(), content -> {
+			final StringBuilder builder = new StringBuilder();
+			for (final Verdict existing : parse(content)) {
+				if (!existing.matches(verdict.getProblem(), verdict.getInputType())) {
+					builder.append(existing.format()).append('\n');
+				}
+			}
+			builder.append(verdict.format()).append('\n');
+			return builder.toString().getBytes(StandardCharsets.UTF_8);
+		});
+	}
+
+	/**
+	 * Retrieves every recorded verdict, sorted by submission time.
+	 *
+	 * @return Recorded verdicts.
+	 * @throws IOException If any error occurs while reading index.
+	 */
+	public List<Verdict> getAll() throws IOException {
+		final List<Verdict> verdicts = parse(workspace.readIfExists(workspace.getVerdictsPath()));
+		verdicts.sort(Comparator.comparingLong(Verdict::getTime));
+		return verdicts;
+	}
+
+}
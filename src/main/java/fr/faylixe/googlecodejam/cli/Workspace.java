@@ -0,0 +1,435 @@
+package fr.faylixe.googlecodejam.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.SerializationUtils;
+
+/**
+ * <p>Directory in which a round context is stored. The root directory
+ * holds the shared cookie file, and the default round context. Each named
+ * context lives in its own sub directory of the hidden contexts directory,
+ * with its own round file, input, output and profile directories, so it
+ * never collides with the directories of the default context.</p>
+ *
+ * <p>Files are written into a temporary file which is then atomically
+ * moved, so concurrent invocations never observe half-written files and
+ * reads do not need any lock, nor write anything into the directory. Writes
+ * go through a {@link FileLock} on a lock file located in the root directory,
+ * so read, transform and write updates of concurrent invocations are never
+ * lost. Written files keep the permissions of the file they replace, or
+ * the default ones of new files otherwise.</p>
+ *
+ * @author fv
+ */
+public final class Workspace {
+
+	/** Name of the serialized round file. **/
+	private static final String ROUND_FILE = ".cjs-round";
+
+	/** Name of the serialized cookie file. **/
+	private static final String COOKIE_FILE = ".cjs-cookie";
+
+	/** Name of the serialized status snapshot file. **/
+	private static final String STATUS_FILE = ".cjs-status";
+
+	/** Name of the attempt index file. **/
+	private static final String ATTEMPTS_FILE = ".cjs-attempts";
+
+	/** Name of the verdict index file. **/
+	private static final String VERDICTS_FILE = ".cjs-verdicts";
+
+	/** Name of the directory that holds named contexts. **/
+	private static final String CONTEXTS_DIRECTORY = ".cjs-contexts";
+
+	/** Name of the lock file. **/
+	private static final String LOCK_FILE = ".cjs-lock";
+
+	/** Name of the input directory. **/
+	private static final String INPUT_DIRECTORY = "input";
+
+	/** Name of the output directory. **/
+	private static final String OUTPUT_DIRECTORY = "output";
+
+	/** Name of the profiling results directory. **/
+	private static final String PROFILE_DIRECTORY = "profile";
+
+	/** Suffix of temporary files used for atomic writes. **/
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+
+	/** Pattern that valid context names should match. **/
+	private static final Pattern CONTEXT_PATTERN = Pattern.compile("[A-Za-z0-9_-]+");
+
+	/**
+	 * Monitor used for serializing accesses of this JVM, since
+	 * file locks are held on behalf of the whole process.
+	 */
+	private static final Object MONITOR = new Object();
+
+	/** Root directory of this workspace. **/
+	private final Path root;
+
+	/** Directory of the selected round context. **/
+	private final Path directory;
+
+	/**
+	 * Private constructor, use {@link #open(Path, String)} instead.
+	 *
+	 * @param root Root directory of this workspace.
+	 * @param directory Directory of the selected round context.
+	 */
+	private Workspace(final Path root, final Path directory) {
+		this.root = root;
+		this.directory = directory;
+	}
+
+	/**
+	 * Static factory method that opens the workspace located
+	 * in the given <tt>root</tt> directory.
+	 *
+	 * @param root Root directory of the workspace.
+	 * @param context Name of the round context to select, <tt>null</tt> for the default one.
+	 * @return Opened workspace.
+	 * @throws IllegalArgumentException If the given context name is not valid.
+	 */
+	public static Workspace open(final Path root, final String context) {
+		if (context == null) {
+			return new Workspace(root, root);
+		}
+		if (!CONTEXT_PATTERN.matcher(context).matches()) {
+			throw new IllegalArgumentException("Invalid context name " + context + ", only letters, digits, - and _ are allowed.");
+		}
+		return new Workspace(root, root.resolve(CONTEXTS_DIRECTORY).resolve(context));
+	}
+
+	/**
+	 * Getter for the selected context directory.
+	 *
+	 * @return Directory of the selected round context.
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Getter for the shared cookie file.
+	 *
+	 * @return Path of the serialized cookie file.
+	 */
+	public Path getCookiePath() {
+		return root.resolve(COOKIE_FILE);
+	}
+
+	/**
+	 * Getter for the context round file.
+	 *
+	 * @return Path of the serialized round file.
+	 */
+	public Path getRoundPath() {
+		return directory.resolve(ROUND_FILE);
+	}
+
+	/**
+	 * Getter for the context status snapshot file.
+	 *
+	 * @return Path of the serialized status snapshot file.
+	 */
+	public Path getStatusPath() {
+		return directory.resolve(STATUS_FILE);
+	}
+
+	/**
+	 * Getter for the context attempt index file.
+	 *
+	 * @return Path of the attempt index file.
+	 */
+	public Path getAttemptsPath() {
+		return directory.resolve(ATTEMPTS_FILE);
+	}
+
+	/**
+	 * Getter for the context verdict index file.
+	 *
+	 * @return Path of the verdict index file.
+	 */
+	public Path getVerdictsPath() {
+		return directory.resolve(VERDICTS_FILE);
+	}
+
+	/**
+	 * Getter for the context input directory.
+	 *
+	 * @return Path of the input directory.
+	 */
+	public Path getInputDirectory() {
+		return directory.resolve(INPUT_DIRECTORY);
+	}
+
+	/**
+	 * Getter for the context output directory.
+	 *
+	 * @return Path of the output directory.
+	 */
+	public Path getOutputDirectory() {
+		return directory.resolve(OUTPUT_DIRECTORY);
+	}
+
+	/**
+	 * Getter for the context profiling results directory.
+	 *
+	 * @return Path of the profile directory.
+	 */
+	public Path getProfileDirectory() {
+		return directory.resolve(PROFILE_DIRECTORY);
+	}
+
+	/**
+	 * Retrieves every directory managed by this workspace, which are the input,
+	 * output and profile directories of both the default and the selected context,
+	 * as well as the named contexts directory.
+	 *
+	 * @return Managed directories.
+	 */
+	public List<Path> getManagedDirectories() {
+		final Workspace defaultContext = new Workspace(root, root);
+		return Arrays.asList(
+				defaultContext.getInputDirectory(),
+				defaultContext.getOutputDirectory(),
+				defaultContext.getProfileDirectory(),
+				getInputDirectory(),
+				getOutputDirectory(),
+				getProfileDirectory(),
+				root.resolve(CONTEXTS_DIRECTORY));
+	}
+
+	/**
+	 * Functional interface for an operation performed under workspace lock.
+	 *
+	 * @param <T> Type of the operation result.
+	 */
+	@FunctionalInterface
+	private interface LockedOperation<T> {
+
+		/**
+		 * Performs the operation.
+		 *
+		 * @return Operation result.
+		 * @throws IOException If any error occurs while performing operation.
+		 */
+		T perform() throws IOException;
+
+	}
+
+	/**
+	 * Performs the given <tt>operation</tt> while holding the exclusive workspace lock.
+	 * The lock is released when the underlying channel is closed.
+	 *
+	 * @param operation Operation to perform.
+	 * @return Operation result.
+	 * @throws IOException If any error occurs while acquiring lock or performing operation.
+	 */
+	private <T> T locked(final LockedOperation<T> operation) throws IOException {
+		synchronized (MONITOR) {
+			Files.createDirectories(root);
+			try (final FileChannel channel = FileChannel.open(
+					root.resolve(LOCK_FILE),
+					StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE)) {
+				channel.lock();
+				return operation.perform();
+			}
+		}
+	}
+
+	/**
+	 * Deletes every file bound to the selected round, which are the attempt index,
+	 * the verdict index and the status snapshot, so a newly selected round starts
+	 * without timers nor verdicts of the previous one.
+	 *
+	 * @throws IOException If any error occurs while deleting files.
+	 */
+	public void resetRound() throws IOException {
+		locked(() -> {
+			Files.deleteIfExists(getAttemptsPath());
+			Files.deleteIfExists(getVerdictsPath());
+			return Files.deleteIfExists(getStatusPath());
+		});
+	}
+
+	/**
+	 * Reads and deserializes the object stored in the given <tt>path</tt>.
+	 *
+	 * @param path Path of the file to read.
+	 * @return Deserialized object.
+	 * @throws IOException If any error occurs while reading file.
+	 */
+	public <T extends Serializable> T read(final Path path) throws IOException {
+		return SerializationUtils.deserialize(Files.readAllBytes(path));
+	}
+
+	/**
+	 * Reads the content of the given <tt>path</tt> without taking any lock.
+	 *
+	 * @param path Path of the file to read.
+	 * @return File content, empty if the file does not exist.
+	 * @throws IOException If any error occurs while reading file.
+	 */
+	public byte [] readIfExists(final Path path) throws IOException {
+		try {
+			return Files.readAllBytes(path);
+		}
+		catch (final NoSuchFileException e) {
+			return new byte[0];
+		}
+	}
+
+	/**
+	 * Serializes and atomically writes the given <tt>object</tt> into the given <tt>path</tt>.
+	 *
+	 * @param path Path of the file to write.
+	 * @param object Object to serialize.
+	 * @throws IOException If any error occurs while writing file.
+	 */
+	public void write(final Path path, final Serializable object) throws IOException {
+		write(path, SerializationUtils.serialize(object));
+	}
+
+	/**
+	 * Atomically writes the given <tt>bytes</tt> into the given <tt>path</tt>.
+	 *
+	 * @param path Path of the file to write.
+	 * @param bytes Content to write.
+	 * @throws IOException If any error occurs while writing file.
+	 */
+	public void write(final Path path, final byte [] bytes) throws IOException {
+		final Path temporary = createTemporary(path);
+		try {
+			Files.write(temporary, bytes);
+		}
+		catch (final IOException e) {
+			Files.deleteIfExists(temporary);
+			throw e;
+		}
+		locked(() -> move(temporary, path));
+	}
+
+	/**
+	 * Atomically updates the content of the given <tt>path</tt>. The whole
+	 * read, transform and write sequence is performed under exclusive lock,
+	 * so concurrent updates are never lost.
+	 *
+	 * @param path Path of the file to update.
+	 * @param operator Operator that computes new content from the current one, empty if file does not exist.
+	 * @throws IOException If any error occurs while updating file.
+	 */
+	public void update(final Path path, final UnaryOperator<byte []> operator) throws IOException {
+		locked(() -> {
+			final byte [] content = readIfExists(path);
+			final Path temporary = createTemporary(path);
+			try {
+				Files.write(temporary, operator.apply(content));
+			}
+			catch (final IOException | RuntimeException e) {
+				Files.deleteIfExists(temporary);
+				throw e;
+			}
+			return move(temporary, path);
+		});
+	}
+
+	/**
+	 * Atomically copies the given <tt>stream</tt> into the given <tt>path</tt>.
+	 *
+	 * @param stream Stream to copy.
+	 * @param path Path of the file to write.
+	 * @throws IOException If any error occurs while writing file.
+	 */
+	public void copy(final InputStream stream, final Path path) throws IOException {
+		final Path temporary = createTemporary(path);
+		try {
+			Files.copy(stream, temporary, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (final IOException e) {
+			Files.deleteIfExists(temporary);
+			throw e;
+		}
+		locked(() -> move(temporary, path));
+	}
+
+	/**
+	 * Creates a temporary file next to the given <tt>path</tt>,
+	 * so it could be moved atomically on the same file store. Unlike
+	 * {@link Files#createTempFile(Path, String, String, java.nio.file.attribute.FileAttribute...)},
+	 * the file is created with the default permissions of any new file.
+	 *
+	 * @param path Path to create temporary file for.
+	 * @return Created temporary file.
+	 * @throws IOException If any error occurs while creating file.
+	 */
+	private static Path createTemporary(final Path path) throws IOException {
+		final Path parent = path.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path temporary = null;
+		while (temporary == null) {
+			final String name = new StringBuilder()
+				.append(path.getFileName())
+				.append(Long.toUnsignedString(ThreadLocalRandom.current().nextLong()))
+				.append(TEMPORARY_SUFFIX)
+				.toString();
+			try {
+				temporary = Files.createFile(parent.resolve(name));
+			}
+			catch (final FileAlreadyExistsException e) {
+				// Name already taken, try another one.
+			}
+		}
+		return temporary;
+	}
+
+	/**
+	 * Moves the given <tt>source</tt> to the given <tt>target</tt>, atomically
+	 * if supported by the underlying file store. If the target already exists,
+	 * its permissions are first applied to the source.
+	 *
+	 * @param source File to move.
+	 * @param target Destination path.
+	 * @return Destination path.
+	 * @throws IOException If any error occurs while moving file.
+	 */
+	private static Path move(final Path source, final Path target) throws IOException {
+		try {
+			if (Files.exists(target)) {
+				Files.setPosixFilePermissions(source, Files.getPosixFilePermissions(target));
+			}
+		}
+		catch (final UnsupportedOperationException e) {
+			// Not a POSIX file system, default permissions are kept.
+		}
+		catch (final IOException e) {
+			Files.deleteIfExists(source);
+			throw e;
+		}
+		try {
+			return Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (final AtomicMoveNotSupportedException e) {
+			return Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+}